@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Runs the same closed-loop load against the backend twice, once on Tomcat's
+# platform-thread pool and once on virtual threads, and prints throughput and
+# latency percentiles for each. Uses the database from DATASOURCE_URL /
+# DATASOURCE_USER / DATASOURCE_PASSWORD (or backend/.env).
+#
+#   ./loadtest.sh                       # 200 clients, 30 s per mode
+#   CONCURRENCY=1000 DURATION=60 ./loadtest.sh
+#   PATHS=/api/albums,/api/stats ./loadtest.sh
+set -euo pipefail
+cd "$(dirname "$0")"
+
+[ -f .env ] && set -a && . ./.env && set +a
+
+PORT=${PORT:-7399}
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-10}
+PATHS="${PATHS:-/api/albums,/api/artists,/api/albums/search?page=0&size=50,/api/search?q=the,/api/stats}"
+
+sh ./mvnw -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+
+for mode in false true; do
+  label=$([ "$mode" = true ] && echo virtual || echo platform)
+  log="target/loadtest-$label.log"
+
+  # Pinned virtual threads are reported in the log so hot spots can be found
+  VIRTUAL_THREADS=$mode PORT=$PORT java -Djdk.tracePinnedThreads=short -jar "$JAR" > "$log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    kill -0 $pid 2>/dev/null || { echo "backend failed to start, see $log" >&2; exit 1; }
+    sleep 1
+  done
+
+  java src/jmh/java/com/example/AlbumRepo/Benchmark/LoadTest.java \
+    --base "http://localhost:$PORT" --concurrency "$CONCURRENCY" \
+    --warmup "$WARMUP" --seconds "$DURATION" --paths "$PATHS" --label "$label"
+
+  kill $pid && wait $pid 2>/dev/null || true
+done
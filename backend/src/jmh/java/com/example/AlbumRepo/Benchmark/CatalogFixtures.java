@@ -0,0 +1,76 @@
+package com.example.AlbumRepo.Benchmark;
+
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic catalogs: ten albums per artist, a spread of
+ * years, genres and ratings, and some accented names.
+ */
+final class CatalogFixtures {
+    static final int ALBUMS_PER_ARTIST = 10;
+
+    private static final String[] WORDS = {
+            "Blue", "Night", "Sigur", "Rós", "Björk", "Ágætis", "Dream", "Electric", "Paper", "Garden",
+            "The", "Of", "Morning", "Café", "Noir", "Silver", "Échos", "Horizon", "Static", "Velvet"
+    };
+    private static final String[] GENRES = {"Rock", "Pop", "Electronic", "Jazz", "Hip-Hop", "Post-Rock", "Folk"};
+
+    private CatalogFixtures() {
+    }
+
+    static List<Artist> artists(int albums) {
+        Random random = new Random(42);
+        List<Artist> artists = new ArrayList<>();
+        int id = 1;
+
+        for (int a = 1; a <= albums / ALBUMS_PER_ARTIST; a++) {
+            Artist artist = new Artist();
+            artist.setId(a);
+            artist.setArtistName(name(random, 2) + " " + a);
+            artist.setLetter(Artist.toLetter(artist.getArtistName()));
+            artist.setAlbums(new ArrayList<>());
+
+            for (int i = 0; i < ALBUMS_PER_ARTIST; i++) {
+                Album album = new Album();
+                album.setId(id++);
+                album.setArtist(artist);
+                album.setAlbumName(name(random, 3));
+                album.setReleaseYear(1960 + random.nextInt(65));
+                album.setReleaseOrder(i + 1);
+                album.setGenre(GENRES[random.nextInt(GENRES.length)]);
+                album.setRating(random.nextInt(5) == 0 ? null : Math.round(random.nextDouble() * 100) / 10.0);
+                album.setCoverURL("https://i.scdn.co/image/ab67616d0000b273" + Integer.toHexString(random.nextInt()));
+                artist.getAlbums().add(album);
+            }
+            artists.add(artist);
+        }
+        return artists;
+    }
+
+    static List<Album> albums(List<Artist> artists) {
+        return artists.stream().flatMap(artist -> artist.getAlbums().stream()).toList();
+    }
+
+    static List<AlbumSummary> summaries(List<Album> albums) {
+        return albums.stream()
+                .map(a -> new AlbumSummary(a.getId(), a.getAlbumName(), a.getReleaseYear(), a.getReleaseOrder(),
+                        a.getGenre(), a.getRating(), a.getCoverURL(),
+                        a.getArtist().getId(), a.getArtist().getLetter(), a.getArtist().getArtistName()))
+                .toList();
+    }
+
+    private static String name(Random random, int words) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) name.append(' ');
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.toString();
+    }
+}
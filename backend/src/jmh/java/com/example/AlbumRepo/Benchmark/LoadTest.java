@@ -0,0 +1,122 @@
+package com.example.AlbumRepo.Benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} clients, each sending
+ * its next request as soon as the previous one returns, against a running
+ * backend. Prints one line with throughput and latency percentiles.
+ * Depends only on the JDK, so it runs as a single source file:
+ *
+ * <pre>
+ * java LoadTest.java --base http://localhost:7373 --concurrency 400 --seconds 30 \
+ *     --paths /api/albums,/api/artists,/api/search?q=blue --label platform
+ * </pre>
+ *
+ * {@code backend/loadtest.sh} starts the backend in both thread modes and runs this against each.
+ */
+public final class LoadTest {
+
+    private record Worker(long[] latencies, int count, int errors) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        String base = options.getOrDefault("base", "http://localhost:7373");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration measure = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30")));
+        String label = options.getOrDefault("label", "run");
+        List<URI> targets = Arrays.stream(options.getOrDefault("paths", "/api/albums").split(","))
+                .map(path -> URI.create(base + path.trim()))
+                .toList();
+
+        // HTTP/1.1 so each client holds its own connection, as separate browsers would
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        run(client, targets, concurrency, warmup);
+        List<Worker> workers = run(client, targets, concurrency, measure);
+
+        int requests = workers.stream().mapToInt(Worker::count).sum();
+        int errors = workers.stream().mapToInt(Worker::errors).sum();
+        long[] all = new long[requests];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies(), 0, all, offset, worker.count());
+            offset += worker.count();
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%-10s concurrency=%d requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms p99.9=%.1f ms max=%.1f ms%n",
+                label, concurrency, requests, errors, requests / (double) measure.toSeconds(),
+                millis(all, 0.50), millis(all, 0.99), millis(all, 0.999), millis(all, 1.0));
+    }
+
+    private static List<Worker> run(HttpClient client, List<URI> targets, int concurrency, Duration length) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        List<Future<Worker>> futures = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> drive(client, targets, deadline)));
+            }
+        }
+
+        List<Worker> workers = new ArrayList<>();
+        for (Future<Worker> future : futures) workers.add(future.get());
+        return workers;
+    }
+
+    private static Worker drive(HttpClient client, List<URI> targets, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+
+        while (System.nanoTime() < deadline) {
+            URI target = targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+            HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(30)).GET().build();
+
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) errors++;
+            } catch (Exception e) {
+                errors++;
+            }
+
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = System.nanoTime() - started;
+        }
+        return new Worker(latencies, count, errors);
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
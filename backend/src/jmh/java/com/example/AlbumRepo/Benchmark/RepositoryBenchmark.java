@@ -0,0 +1,105 @@
+package com.example.AlbumRepo.Benchmark;
+
+import com.example.AlbumRepo.AlbumRepoApplication;
+import com.example.AlbumRepo.DTO.AlbumPage;
+import com.example.AlbumRepo.DTO.AlbumSearchCriteria;
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.DTO.ArtistSummary;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Service.AlbumService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing and search queries against the application context running on
+ * in-memory H2 (the test profile's datasource), seeded through JDBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RepositoryBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private IAlbumRepository albumRepository;
+    private IArtistRepository artistRepository;
+    private AlbumService albumService;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AlbumRepoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        albumRepository = context.getBean(IAlbumRepository.class);
+        artistRepository = context.getBean(IArtistRepository.class);
+        albumService = context.getBean(AlbumService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        seed(context.getBean(JdbcTemplate.class), CatalogFixtures.artists(rows));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AlbumSummary> albumSummaries() {
+        return readOnly.execute(status -> albumRepository.findAllSummaries());
+    }
+
+    @Benchmark
+    public List<ArtistSummary> artistSummaries() {
+        return readOnly.execute(status -> ArtistSummary.group(artistRepository.findAllSummaryRows()));
+    }
+
+    @Benchmark
+    public AlbumPage searchFirstPage() {
+        return albumService.searchAlbums(new AlbumSearchCriteria(null, null, null, null, null, "artist", "asc", null, 60));
+    }
+
+    @Benchmark
+    public AlbumPage searchByGenreAndYear() {
+        return albumService.searchAlbums(new AlbumSearchCriteria(null, null, "rock", "19", null, "rating", "desc", null, 60));
+    }
+
+    private static void seed(JdbcTemplate jdbc, List<Artist> artists) {
+        jdbc.batchUpdate("INSERT INTO Artists (id, letter, artist_name, sort_name) VALUES (?, ?, ?, ?)",
+                artists, 1000, (ps, artist) -> {
+                    ps.setInt(1, artist.getId());
+                    ps.setString(2, String.valueOf(artist.getLetter()));
+                    ps.setString(3, artist.getArtistName());
+                    ps.setString(4, Artist.toSortName(artist.getArtistName()));
+                });
+
+        List<Album> albums = CatalogFixtures.albums(artists);
+        jdbc.batchUpdate("""
+                INSERT INTO Albums (id, artist_id, album_name, release_year, release_order, genre, rating, cover_url)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, albums, 1000, (ps, album) -> {
+            ps.setInt(1, album.getId());
+            ps.setInt(2, album.getArtist().getId());
+            ps.setString(3, album.getAlbumName());
+            ps.setInt(4, album.getReleaseYear());
+            ps.setInt(5, album.getReleaseOrder());
+            ps.setString(6, album.getGenre());
+            ps.setObject(7, album.getRating());
+            ps.setString(8, album.getCoverURL());
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.AlbumRepo.Benchmark;
+
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing the listing payloads: the entity graphs the listings
+ * used to return, and the projections they return now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Artist> artists;
+    private List<Album> albums;
+    private List<AlbumSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        artists = CatalogFixtures.artists(rows);
+        albums = CatalogFixtures.albums(artists);
+        summaries = CatalogFixtures.summaries(albums);
+    }
+
+    @Benchmark
+    public byte[] albumEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(albums);
+    }
+
+    @Benchmark
+    public byte[] albumSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] artistEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(artists);
+    }
+}
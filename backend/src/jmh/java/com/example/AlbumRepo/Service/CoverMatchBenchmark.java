@@ -0,0 +1,63 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Client.SpotifyClient.AlbumItem;
+import com.example.AlbumRepo.Client.SpotifyClient.ArtistItem;
+import com.example.AlbumRepo.Client.SpotifyClient.Image;
+import com.example.AlbumRepo.Util.TextNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of a cover lookup: normalizing names, and scanning a page of
+ * Spotify search results for the exact match (found last, the worst case).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoverMatchBenchmark {
+    private final String[] names = {
+            "The Beatles", "Sigur Rós", "Björk", "Ágætis byrjun", "Godspeed You! Black Emperor",
+            "Music Has the Right to Children", "夢遊病者", "Mötley Crüe", "Æther Realm", "Portishead"
+    };
+
+    private List<AlbumItem> items;
+    private String artistNorm;
+    private String albumNorm;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            items.add(item("Ágætis byrjun (Live " + i + ")", "Sigur Rós"));
+        }
+        items.add(item("Ágætis byrjun", "Sigur Rós"));
+
+        artistNorm = TextNormalizer.norm("Sigur Ros");
+        albumNorm = TextNormalizer.norm("Agaetis Byrjun");
+    }
+
+    @Benchmark
+    public int norm() {
+        int length = 0;
+        for (String name : names) {
+            length += TextNormalizer.norm(name).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public String spotifyMatch() {
+        return CoverArtService.findExactCover(items, artistNorm, albumNorm);
+    }
+
+    private static AlbumItem item(String album, String artist) {
+        return new AlbumItem(
+                album,
+                List.of(new ArtistItem(artist), new ArtistItem("Various Artists")),
+                List.of(new Image("https://i.scdn.co/image/" + album.hashCode(), 640, 640))
+        );
+    }
+}
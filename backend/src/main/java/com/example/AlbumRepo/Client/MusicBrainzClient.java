@@ -0,0 +1,58 @@
+package com.example.AlbumRepo.Client;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.example.AlbumRepo.Util.TokenBucket;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * MusicBrainz release search. MusicBrainz asks every client to identify
+ * itself with a User-Agent and to stay at one request per second.
+ */
+@Component
+@Lazy
+public class MusicBrainzClient {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ReleaseSearch(List<Release> releases) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Release(String id, String title) {
+    }
+
+    private final CoverArtProperties.MusicBrainz properties;
+    private final ProviderHttp http;
+
+    public MusicBrainzClient(HttpClient outboundHttpClient, ObjectMapper mapper, CoverArtProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties.musicbrainz();
+        this.http = new ProviderHttp("musicbrainz", outboundHttpClient, mapper, properties.http(),
+                new TokenBucket(this.properties.requestsPerSecond(), 1), meterRegistry);
+    }
+
+    public List<Release> searchReleases(String query, int limit) throws IOException, InterruptedException {
+        URI uri = URI.create(properties.apiUrl() + "/release/"
+                + "?query=" + URLEncoder.encode(query, StandardCharsets.UTF_8)
+                + "&fmt=json&limit=" + limit);
+
+        HttpRequest request = http.request(uri)
+                .header("User-Agent", properties.userAgent())
+                .GET()
+                .build();
+
+        ReleaseSearch response = http.send(request, ReleaseSearch.class);
+        return response.releases() == null ? List.of() : response.releases();
+    }
+}
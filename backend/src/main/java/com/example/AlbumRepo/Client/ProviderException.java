@@ -0,0 +1,31 @@
+package com.example.AlbumRepo.Client;
+
+import java.io.IOException;
+
+/**
+ * A provider call that did not produce a usable answer. {@code status} is the
+ * final HTTP status, or 0 when the circuit was open and nothing was sent.
+ */
+public class ProviderException extends IOException {
+    private final String provider;
+    private final int status;
+
+    public ProviderException(String provider, int status, String message) {
+        super(provider + ": " + message);
+        this.provider = provider;
+        this.status = status;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    // 5xx and throttling say the provider is struggling; other 4xx are our own mistake
+    public boolean isProviderFault() {
+        return status == 0 || status == 429 || status >= 500;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.AlbumRepo.Client;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.example.AlbumRepo.Util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends one provider's requests over the shared {@link HttpClient}: paced by
+ * the provider's rate limit, capped per host, retried with jittered backoff
+ * (or the server's {@code Retry-After}) and guarded by a circuit breaker.
+ * Successful responses are read straight into the requested record type.
+ */
+public class ProviderHttp {
+    private static final Logger logger = LoggerFactory.getLogger(ProviderHttp.class);
+    private static final Set<Integer> RETRYABLE = Set.of(429, 502, 503, 504);
+
+    private final String provider;
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final CoverArtProperties.Http config;
+    private final TokenBucket limiter;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    public ProviderHttp(String provider, HttpClient client, ObjectMapper mapper, CoverArtProperties.Http config,
+                        TokenBucket limiter, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.client = client;
+        this.mapper = mapper;
+        this.config = config;
+        this.limiter = limiter;
+        this.breaker = new CircuitBreaker(config.breaker().failureThreshold(), config.breaker().openFor());
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("coverart.http.circuit.state", breaker, b -> b.state().ordinal())
+                .description("Provider circuit breaker: 0 closed, 1 half-open, 2 open")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    // Builder preset with the request timeout and a JSON Accept header
+    public HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(config.requestTimeout())
+                .header("Accept", "application/json");
+    }
+
+    public <T> T send(HttpRequest request, Class<T> type) throws IOException, InterruptedException {
+        if (!breaker.tryAcquire()) throw new ProviderException(provider, 0, "circuit open, not calling " + request.uri().getHost());
+
+        Boolean healthy = null;
+        try {
+            HttpResponse<byte[]> response = sendWithRetries(request);
+            int status = response.statusCode();
+            if (status < 200 || status >= 300) {
+                ProviderException failure = new ProviderException(provider, status, "HTTP " + status + " from " + request.uri().getPath());
+                healthy = !failure.isProviderFault();
+                throw failure;
+            }
+
+            T body = mapper.readValue(response.body(), type);
+            healthy = true;
+            return body;
+        } catch (IOException e) {
+            if (healthy == null) healthy = false;
+            throw e;
+        } finally {
+            if (healthy == null) breaker.release();
+            else if (healthy) breaker.recordSuccess();
+            else breaker.recordFailure();
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return breaker.state();
+    }
+
+    /* =========================
+       RETRIES
+       ========================= */
+
+    private HttpResponse<byte[]> sendWithRetries(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            if (limiter != null) limiter.acquire();
+
+            HttpResponse<byte[]> response;
+            try {
+                response = exchange(request);
+            } catch (IOException e) {
+                if (attempt >= config.maxAttempts()) throw e;
+                pause(backoff(attempt), e.getClass().getSimpleName(), attempt);
+                continue;
+            }
+
+            if (!RETRYABLE.contains(response.statusCode()) || attempt >= config.maxAttempts()) return response;
+
+            // A server asking for longer than we are willing to wait gets its answer now
+            Duration wait = retryAfter(response).orElse(null);
+            if (wait == null) wait = backoff(attempt);
+            if (wait.compareTo(config.retryMaxDelay()) > 0) return response;
+            pause(wait, String.valueOf(response.statusCode()), attempt);
+        }
+    }
+
+    private HttpResponse<byte[]> exchange(HttpRequest request) throws IOException, InterruptedException {
+        Semaphore permits = hosts.computeIfAbsent(request.uri().getAuthority(),
+                host -> new Semaphore(config.maxConcurrentPerHost()));
+
+        permits.acquire();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void pause(Duration wait, String reason, int attempt) throws InterruptedException {
+        Counter.builder("coverart.http.retries")
+                .description("Provider requests sent again after a transient failure")
+                .tag("provider", provider)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        logger.debug("{} attempt {} failed ({}), retrying in {} ms", provider, attempt, reason, wait.toMillis());
+
+        TimeUnit.NANOSECONDS.sleep(wait.toNanos());
+    }
+
+    // Full jitter: anywhere between zero and the exponential ceiling
+    private Duration backoff(int attempt) {
+        long base = config.retryBaseDelay().toMillis();
+        long ceiling = Math.min(config.retryMaxDelay().toMillis(), base << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date
+    static Optional<Duration> retryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After").map(String::trim).flatMap(value -> {
+            try {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+            } catch (NumberFormatException ignored) {
+            }
+            try {
+                Instant at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), at);
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.AlbumRepo.Client;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.example.AlbumRepo.Util.TokenBucket;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Spotify Web API: client-credentials tokens and album search.
+ */
+@Component
+@Lazy
+public class SpotifyClient {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Token(@JsonProperty("access_token") String accessToken, @JsonProperty("expires_in") long expiresIn) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record SearchResponse(Page albums) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Page(List<AlbumItem> items) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record AlbumItem(String name, List<ArtistItem> artists, List<Image> images) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ArtistItem(String name) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Image(String url, Integer width, Integer height) {
+    }
+
+    private final CoverArtProperties.Spotify properties;
+    private final ProviderHttp http;
+
+    public SpotifyClient(HttpClient outboundHttpClient, ObjectMapper mapper, CoverArtProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties.spotify();
+        this.http = new ProviderHttp("spotify", outboundHttpClient, mapper, properties.http(),
+                new TokenBucket(this.properties.requestsPerSecond(), 1), meterRegistry);
+    }
+
+    public Token requestToken() throws IOException, InterruptedException {
+        String credentials = properties.clientId() + ":" + properties.clientSecret();
+
+        HttpRequest request = http.request(URI.create(properties.tokenUrl()))
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials"))
+                .build();
+
+        return http.send(request, Token.class);
+    }
+
+    public List<AlbumItem> searchAlbums(String query, String accessToken) throws IOException, InterruptedException {
+        URI uri = URI.create(properties.apiUrl() + "/search"
+                + "?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8)
+                + "&type=album&limit=10&market=CA");
+
+        HttpRequest request = http.request(uri)
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+
+        SearchResponse response = http.send(request, SearchResponse.class);
+        if (response.albums() == null || response.albums().items() == null) return List.of();
+        return response.albums().items();
+    }
+}
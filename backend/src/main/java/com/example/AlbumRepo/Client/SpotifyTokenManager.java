@@ -0,0 +1,171 @@
+package com.example.AlbumRepo.Client;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the Spotify client-credentials token. Readers take the current token
+ * from an atomic reference without locking. A refresh is scheduled ahead of
+ * expiry (when the token has been used since it was issued), so lookups
+ * normally never wait; only when no valid token exists do callers wait, all
+ * on the same in-flight request.
+ */
+@Component
+@Lazy
+public class SpotifyTokenManager {
+    private static final Logger logger = LoggerFactory.getLogger(SpotifyTokenManager.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(15);
+
+    // Immutable snapshot: usable until expiresAt, refreshed in the background from refreshAt
+    public record AccessToken(String value, Instant expiresAt, Instant refreshAt) {
+        boolean usable(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+    }
+
+    private final SpotifyClient spotifyClient;
+    private final Duration refreshMargin;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<AccessToken> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
+    private final AtomicBoolean usedSinceRefresh = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("spotify-token-refresh").factory());
+
+    public SpotifyTokenManager(SpotifyClient spotifyClient, CoverArtProperties properties, MeterRegistry meterRegistry) {
+        this.spotifyClient = spotifyClient;
+        this.refreshMargin = properties.spotify().tokenRefreshMargin();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A valid access token, waiting for a refresh only when there is none.
+     */
+    public String token() throws IOException, InterruptedException {
+        AccessToken token = current.get();
+        if (token != null && token.usable(Instant.now())) {
+            usedSinceRefresh.set(true);
+            return token.value();
+        }
+
+        try {
+            AccessToken fresh = refresh().get();
+            usedSinceRefresh.set(true);
+            return fresh.value();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException("Spotify token refresh failed", e.getCause());
+        }
+    }
+
+    /**
+     * Drops the token if it is still the current one, e.g. after the API
+     * rejected it with 401; the next {@link #token()} fetches a new one.
+     */
+    public void invalidate(String value) {
+        AccessToken token = current.get();
+        if (token != null && token.value().equals(value)) current.compareAndSet(token, null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /* =========================
+       REFRESH
+       ========================= */
+
+    // Single flight: the first caller starts the request, everyone else gets the same future
+    CompletableFuture<AccessToken> refresh() {
+        while (true) {
+            CompletableFuture<AccessToken> running = inFlight.get();
+            if (running != null) return running;
+
+            CompletableFuture<AccessToken> mine = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, mine)) {
+                Thread.ofVirtual().name("spotify-token-fetch").start(() -> fetch(mine));
+                return mine;
+            }
+        }
+    }
+
+    private void fetch(CompletableFuture<AccessToken> result) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            SpotifyClient.Token response = spotifyClient.requestToken();
+            AccessToken token = issue(response);
+
+            current.set(token);
+            usedSinceRefresh.set(false);
+            sample.stop(refreshTimer("success"));
+            logger.info("Spotify token refreshed, valid until {}", token.expiresAt());
+
+            schedule(Duration.between(Instant.now(), token.refreshAt()));
+            result.complete(token);
+        } catch (Exception e) {
+            sample.stop(refreshTimer("error"));
+            Counter.builder("coverart.provider.errors")
+                    .description("Failed cover provider calls, by exception type")
+                    .tag("provider", "spotify-token")
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Failed to refresh Spotify token: {}", e.getMessage());
+
+            // The old token may still have a while to live; try again before it runs out
+            AccessToken token = current.get();
+            if (token != null && token.usable(Instant.now())) schedule(RETRY_DELAY);
+            result.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(result, null);
+        }
+    }
+
+    private AccessToken issue(SpotifyClient.Token response) {
+        if (response.accessToken() == null) throw new IllegalStateException("token response without access_token");
+
+        Instant now = Instant.now();
+        Duration lifetime = Duration.ofSeconds(Math.max(1, response.expiresIn()));
+        // Stop using the token slightly early, and refresh well before that
+        Duration skew = min(Duration.ofSeconds(30), lifetime.dividedBy(10));
+        Duration lead = min(refreshMargin, lifetime.dividedBy(2));
+        return new AccessToken(response.accessToken(), now.plus(lifetime).minus(skew), now.plus(lifetime).minus(lead));
+    }
+
+    private void schedule(Duration delay) {
+        scheduler.schedule(() -> {
+            // An idle token is left to expire; the next lookup fetches a fresh one
+            if (usedSinceRefresh.get()) refresh();
+        }, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private Timer refreshTimer(String outcome) {
+        return Timer.builder("coverart.spotify.token.refresh")
+                .description("Spotify client-credentials token requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.AlbumRepo.Config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Endpoints, credentials and throughput limits for the cover art providers.
+ * Base URLs are configurable so tests can point them at local stub servers.
+ */
+@ConfigurationProperties(prefix = "coverart")
+public record CoverArtProperties(Spotify spotify, MusicBrainz musicbrainz, Backfill backfill,
+                                 Images images, Http http) {
+
+    // tokenRefreshMargin: how long before expiry the access token is renewed in the background
+    public record Spotify(String clientId, String clientSecret, String tokenUrl, String apiUrl, double requestsPerSecond,
+                          LookupTtl lookupTtl, Duration tokenRefreshMargin) {
+    }
+
+    public record MusicBrainz(String apiUrl, String userAgent, double requestsPerSecond, LookupTtl lookupTtl) {
+    }
+
+    // concurrency bounds in-flight lookups, batchSize bounds albums per saveAll
+    public record Backfill(int concurrency, int batchSize) {
+    }
+
+    // Local copies served by /api/covers: originals are fetched once, then resized to each of sizes.
+    // Only allowedHosts (and their subdomains) are fetched from; larger than maxPixels is never decoded.
+    public record Images(Path storageDir, List<Integer> sizes, int defaultSize, Duration fetchTimeout,
+                         DataSize maxDownload, List<String> allowedHosts, long maxPixels) {
+    }
+
+    // Outbound provider calls. maxAttempts includes the first try; a Retry-After beyond retryMaxDelay is not waited for.
+    public record Http(Duration connectTimeout, Duration requestTimeout, int maxConcurrentPerHost, int maxAttempts,
+                       Duration retryBaseDelay, Duration retryMaxDelay, Breaker breaker) {
+    }
+
+    // Consecutive failures that open a provider's circuit, and how long it stays open
+    public record Breaker(int failureThreshold, Duration openFor) {
+    }
+
+    // How long a remembered answer is trusted. Repeat misses double missTtl up to maxMiss.
+    public record LookupTtl(Duration hit, Duration miss, Duration maxMiss) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.AlbumRepo.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.net.http.HttpClient;
+
+/**
+ * The {@link HttpClient} used for outbound provider calls, so they share
+ * its connection pool. HTTP/2 is negotiated
+ * where the server supports it and multiplexes requests over one connection;
+ * HTTP/1.1 connections are kept alive and reused.
+ * <p>
+ * Cover downloads use a second client that never follows redirects:
+ * cover URLs come from clients, so every hop is checked by hand (see
+ * CoverImageService).
+ * <p>
+ * Nothing on the startup path calls out, so the clients and everything built
+ * on them (provider clients, cover services) are created on first use.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    @Lazy
+    public HttpClient outboundHttpClient(CoverArtProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.http().connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    @Lazy
+    public HttpClient coverDownloadHttpClient(CoverArtProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.http().connectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.AlbumRepo.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Metrics Spring Boot doesn't record on its own. Request latency
+ * ({@code http.server.requests}), repository call timers
+ * ({@code spring.data.repository.invocations}) and Hikari pool gauges are
+ * auto-configured; their histograms and SLO buckets are set in
+ * application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records how many rows each repository method returns, as
+     * {@code catalog.repository.rows} tagged with repository and method.
+     * Streams are left alone, since counting would consume them.
+     */
+    @Bean
+    static BeanPostProcessor repositoryRowCounts(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(rowCounter(
+                                    registry, information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor rowCounter(ObjectProvider<MeterRegistry> registry, String repository) {
+        return invocation -> {
+            Object result = invocation.proceed();
+
+            long rows = rows(result);
+            if (rows >= 0) {
+                DistributionSummary.builder("catalog.repository.rows")
+                        .description("Rows returned per repository call")
+                        .baseUnit("rows")
+                        .tag("repository", repository)
+                        .tag("method", invocation.getMethod().getName())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(1.0)
+                        .maximumExpectedValue(1_000_000.0)
+                        .register(registry.getObject())
+                        .record(rows);
+            }
+            return result;
+        };
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Slice<?> slice) return slice.getNumberOfElements();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        return -1;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.AlbumRepo.Config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource once replicas are configured.
+ * JPA, Flyway and JdbcTemplate all get a lazy proxy that picks its target
+ * when the first statement runs: read-only transactions go to
+ * ReplicaRoutingDataSource, everything else (writes, cover art updates,
+ * migrations) to the primary pool.
+ */
+@Configuration
+@ConditionalOnExpression("!'${catalog.datasource.replica-urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    // The pool Spring Boot would otherwise have built, with the same spring.datasource.hikari.* settings
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource, ReplicaProperties properties,
+                                               ObjectProvider<MeterRegistry> registry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : properties.replicaUrls()) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setUsername(primaryDataSource.getUsername());
+            config.setPassword(primaryDataSource.getPassword());
+            config.setPoolName("replica-" + replicas.size());
+            config.setReadOnly(true);
+            // Hikari reports to the meter registry once the pool is built, so replicas get hikaricp.* too
+            registry.ifAvailable(r -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+            replicas.add(new HikariDataSource(config));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                properties.readYourWrites());
+        routing.startHealthChecks(properties.healthCheckInterval());
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(replicaDataSource.writeTracking());
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+}
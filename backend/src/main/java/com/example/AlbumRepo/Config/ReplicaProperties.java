@@ -0,0 +1,16 @@
+package com.example.AlbumRepo.Config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. Replicas share the primary's
+ * credentials and pool settings; routing is off while replicaUrls is empty.
+ * readYourWrites keeps reads on the primary for that long after a commit
+ * (zero disables it).
+ */
+@ConfigurationProperties(prefix = "catalog.datasource")
+public record ReplicaProperties(List<String> replicaUrls, Duration healthCheckInterval, Duration readYourWrites) {
+}
@@ -0,0 +1,200 @@
+package com.example.AlbumRepo.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Where read-only connections come from. Set as the read-only target of a
+ * LazyConnectionDataSourceProxy, so only {@code @Transactional(readOnly = true)}
+ * work gets here; everything else goes straight to the primary.
+ * <p>
+ * Replicas are taken in turn. One that fails to hand out a connection is
+ * skipped until the health check can connect to it again, and the read falls
+ * back to the primary, as do all reads within the read-your-writes window
+ * after a commit and all reads inside {@link #fromPrimary}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final ThreadLocal<Boolean> PRIMARY_READS = ThreadLocal.withInitial(() -> false);
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long readYourWritesNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile long primaryUntil = System.nanoTime();
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Duration readYourWrites) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.readYourWritesNanos = readYourWrites == null ? 0 : readYourWrites.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = pick();
+        if (replica == null) return primary.getConnection();
+
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    // Replicas only know the pool's own credentials, so explicit ones go to the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Runs {@code load} with read-only connections taken from the primary.
+     * For loads whose result is kept until the next write (snapshots, the
+     * search index, stats, the entity cache) or that hand out a watermark
+     * (delta sync): a lagging replica would otherwise leave the stale copy in
+     * place, or skip rows for good. Without replicas it just runs.
+     */
+    public static <T> T fromPrimary(Supplier<T> load) {
+        if (PRIMARY_READS.get()) return load.get();
+
+        PRIMARY_READS.set(true);
+        try {
+            return load.get();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    public static void fromPrimary(Runnable load) {
+        fromPrimary(() -> {
+            load.run();
+            return null;
+        });
+    }
+
+    /**
+     * The primary, wrapped so that committing a read-write transaction on it
+     * opens the read-your-writes window. Use it as the proxy's default target.
+     */
+    public DataSource writeTracking() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                noteWrite();
+                return super.getConnection();
+            }
+        };
+    }
+
+    private Replica pick() {
+        if (PRIMARY_READS.get() || System.nanoTime() - primaryUntil < 0) return null;
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) return replica;
+        }
+        return null;
+    }
+
+    private void noteWrite() {
+        if (readYourWritesNanos == 0
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                primaryUntil = System.nanoTime() + readYourWritesNanos;
+            }
+        });
+    }
+
+    private void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Read replica {} is down, reading from the primary until it recovers: {}",
+                    replica.name, cause.getMessage());
+        }
+    }
+
+    /* =========================
+       HEALTH
+       ========================= */
+
+    public void startHealthChecks(Duration interval) {
+        healthChecks = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("replica-health").factory());
+        long millis = interval.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    markDown(replica, new SQLException("connection failed validation"));
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    logger.info("Read replica {} is back", replica.name);
+                }
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("catalog.datasource.replica.up", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the read replica is taking reads")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    // Also closes the replica pools, which only exist for this router
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null) healthChecks.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable pool) pool.close();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.AlbumRepo.Config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Delta sync ({@code GET /api/sync}). Deletions are remembered for
+ * tombstoneRetention; a client asking from further back gets a full resync.
+ */
+@ConfigurationProperties(prefix = "catalog.sync")
+public record SyncProperties(Duration tombstoneRetention) {
+}
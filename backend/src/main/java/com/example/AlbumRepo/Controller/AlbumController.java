@@ -1,85 +1,124 @@
 package com.example.AlbumRepo.Controller;
 
+import com.example.AlbumRepo.DTO.AlbumPage;
+import com.example.AlbumRepo.DTO.AlbumSearchCriteria;
+import com.example.AlbumRepo.DTO.JobStatus;
 import com.example.AlbumRepo.Entity.Album;
-import com.example.AlbumRepo.Repository.IAlbumRepository;
 import com.example.AlbumRepo.Service.AlbumService;
-import com.example.AlbumRepo.Service.CoverArtService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.example.AlbumRepo.Service.CatalogSnapshotService;
+import com.example.AlbumRepo.Service.ListingStreamService;
+import com.example.AlbumRepo.Service.JobService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/albums")
 public class AlbumController {
-    @Autowired
-    IAlbumRepository albumRepository;
     private final AlbumService albumService;
-    private final CoverArtService coverArtService;
+    private final JobService jobService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ListingStreamService listingStreamService;
 
-    public AlbumController(AlbumService albumService, CoverArtService coverArtService) {
+    public AlbumController(AlbumService albumService, JobService jobService, CatalogSnapshotService catalogSnapshotService,
+                           ListingStreamService listingStreamService) {
         this.albumService = albumService;
-        this.coverArtService = coverArtService;
+        this.jobService = jobService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.listingStreamService = listingStreamService;
     }
 
-    // GET all albums
-    @GetMapping
-    public ResponseEntity<List<Album>> getAllAlbums() {
-        List<Album> albums = albumService.getAlbumsWithArtists();
-        return ResponseEntity.ok(albums);
+    // GET all albums (pre-serialized, 304 when unchanged); also the answer to */*
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
+    public ResponseEntity<byte[]> getAllAlbums(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return SnapshotResponses.of(catalogSnapshotService.albums(), ifNoneMatch, acceptEncoding);
     }
 
-    // GET album by id
+    // GET all albums as NDJSON or CBOR, streamed from a database cursor
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public WebAsyncTask<Void> streamAllAlbums(@RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                            HttpServletResponse response) {
+        return StreamedListings.of(accept, response, listingStreamService::writeAlbums);
+    }
+
+    // GET filtered, sorted page of albums
+    @GetMapping("/search")
+    public ResponseEntity<AlbumPage> searchAlbums(AlbumSearchCriteria criteria) {
+        return ResponseEntity.ok(albumService.searchAlbums(criteria));
+    }
+
+    // GET album by id (ETag is the album's version)
     @GetMapping("/{id}")
-    public Album getAlbumById(@PathVariable Integer id) {
-        return albumRepository.findById(id).orElse(null);
+    public ResponseEntity<Album> getAlbumById(@PathVariable Integer id) {
+        Album album = albumService.getAlbumById(id);
+        if (album == null) return ResponseEntity.ok(null);
+        return ResponseEntity.ok().eTag(VersionTags.of(album.getVersion())).body(album);
     }
 
-    // POST create new album
+    // POST create new album (the cover is looked up in the background)
     @PostMapping("/add-album")
     public Album createAlbum(@RequestBody Album album) {
-        if (!hasRealCover(album.getCoverURL())) {
-            String coverUrl = coverArtService.fetchCoverArt(
-                    album.getArtist().getArtistName(),
-                    album.getAlbumName()
-            );
-
-            if (coverUrl != null && !coverUrl.isBlank()) {
-                album.setCoverURL(coverUrl);
-            }
+        Album saved = albumService.createAlbum(album);
+
+        if (!hasRealCover(saved.getCoverURL())) {
+            jobService.submitAlbumCover(saved.getId());
         }
 
-        return albumRepository.save(album);
+        return saved;
     }
 
+    // POST queue a cover lookup for every album without one
     @PostMapping("/fetch-covers")
-    public String fetchCovers() {
-        coverArtService.fetchCoversForAllAlbums();
-        return "Cover images updated!";
+    public ResponseEntity<JobStatus> fetchCovers() {
+        JobStatus job = JobStatus.of(jobService.submitCoverBackfill());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.id()))
+                .body(job);
     }
 
-    // PUT update album
+    // PUT update album (412 when If-Match or the body's version is stale)
     @PutMapping("/update-album/{id}")
-    public Album updateAlbum(@PathVariable Integer id, @RequestBody Album album) {
-        return albumRepository.findById(id).map(existingAlbum -> {
-            existingAlbum.setAlbumName(album.getAlbumName());
-            existingAlbum.setGenre(album.getGenre());
-            existingAlbum.setReleaseYear(album.getReleaseYear());
-            existingAlbum.setRating(album.getRating());
-            existingAlbum.setCoverURL(album.getCoverURL());
-            existingAlbum.setArtist(album.getArtist());
-            return albumRepository.save(existingAlbum);
-        }).orElseGet(() -> {
-            album.setId(id);
-            return albumRepository.save(album);
-        });
+    public ResponseEntity<Album> updateAlbum(
+            @PathVariable Integer id,
+            @RequestBody Album album,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Album saved = albumService.updateAlbum(id, album, VersionTags.expected(ifMatch));
+        return ResponseEntity.ok().eTag(VersionTags.of(saved.getVersion())).body(saved);
+    }
+
+    // PATCH only the given fields, e.g. {"rating": 8.5} (412 when If-Match is stale)
+    @PatchMapping("/{id}")
+    public ResponseEntity<Album> patchAlbum(
+            @PathVariable Integer id,
+            @RequestBody JsonNode changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Album saved = albumService.patchAlbum(id, changes, VersionTags.expected(ifMatch));
+        return ResponseEntity.ok().eTag(VersionTags.of(saved.getVersion())).body(saved);
     }
 
     // DELETE album
     @DeleteMapping("/delete-album/{id}")
     public void deleteAlbum(@PathVariable Integer id) {
-        albumRepository.deleteById(id);
+        albumService.deleteAlbum(id);
+    }
+
+    // Another write committed between our read and our update
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> staleWrite() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
     }
 
     private boolean hasRealCover(String coverUrl) {
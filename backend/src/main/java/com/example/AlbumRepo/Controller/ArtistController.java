@@ -1,55 +1,81 @@
 package com.example.AlbumRepo.Controller;
 
+import com.example.AlbumRepo.DTO.DiscographyRequest;
 import com.example.AlbumRepo.Entity.Artist;
-import com.example.AlbumRepo.Repository.IArtistRepository;
 import com.example.AlbumRepo.Service.ArtistService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.example.AlbumRepo.Service.ArtistService.DiscographyResult;
+import com.example.AlbumRepo.Service.CatalogSnapshotService;
+import com.example.AlbumRepo.Service.ListingStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/artists")
 public class ArtistController {
-    @Autowired
-    IArtistRepository artistRepository;
     private final ArtistService artistService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ListingStreamService listingStreamService;
 
-    public ArtistController(ArtistService artistService) {
+    public ArtistController(ArtistService artistService, CatalogSnapshotService catalogSnapshotService,
+                            ListingStreamService listingStreamService) {
         this.artistService = artistService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.listingStreamService = listingStreamService;
     }
 
-    // GET all artists
-    @GetMapping
-    public List<Artist> getAllArtists() {
-        return artistService.getArtistsWithAlbums();
+    // GET all artists (pre-serialized, 304 when unchanged); also the answer to */*
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
+    public ResponseEntity<byte[]> getAllArtists(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return SnapshotResponses.of(catalogSnapshotService.artists(), ifNoneMatch, acceptEncoding);
+    }
+
+    // GET all artists as NDJSON or CBOR, streamed from a database cursor
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public WebAsyncTask<Void> streamAllArtists(@RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                            HttpServletResponse response) {
+        return StreamedListings.of(accept, response, listingStreamService::writeArtists);
     }
 
     // GET artist by id
     @GetMapping("/{id}")
     public Artist getArtistById(@PathVariable Integer id) {
-        return artistRepository.findById(id).orElse(null);
+        return artistService.getArtistById(id);
     }
 
     // POST create artist
     @PostMapping("/add-artist")
     public Artist createArtist(@RequestBody Artist artist) {
-        return artistRepository.save(artist);
+        return artistService.createArtist(artist);
     }
 
     // PUT update artist
     @PutMapping("/update-artist/{id}")
     public Artist updateArtist(@PathVariable Integer id, @RequestBody Artist artist) {
-        return artistRepository.findById(id).map(existingArtist -> {
-            existingArtist.setArtistName(artist.getArtistName());
-            existingArtist.setLetter(artist.getLetter());
-            return artistRepository.save(existingArtist);
-        }).orElse(null);
+        return artistService.updateArtist(id, artist);
+    }
+
+    // PUT artist and their full album list in one transaction (201 when the artist was created)
+    @PutMapping("/{id}/discography")
+    public ResponseEntity<DiscographyResult> replaceDiscography(@PathVariable Integer id, @RequestBody DiscographyRequest request) {
+        DiscographyResult result = artistService.replaceDiscography(id, request);
+        if (result.artistCreated()) {
+            return ResponseEntity.created(URI.create("/api/artists/" + result.artist().getId())).body(result);
+        }
+        return ResponseEntity.ok(result);
     }
 
     // DELETE artist
     @DeleteMapping("/delete-artist/{id}")
     public void deleteArtist(@PathVariable Integer id) {
-        artistRepository.deleteById(id);
+        artistService.deleteArtist(id);
     }
-}
\ No newline at end of file
+}
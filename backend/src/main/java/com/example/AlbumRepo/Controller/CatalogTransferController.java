@@ -0,0 +1,56 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Service.CatalogTransferService;
+import com.example.AlbumRepo.Service.CatalogTransferService.Format;
+import com.example.AlbumRepo.Service.CatalogTransferService.ImportResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api")
+public class CatalogTransferController {
+    // A whole-catalog export can outlast the container's default async timeout
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(10);
+
+    private final CatalogTransferService catalogTransferService;
+
+    public CatalogTransferController(CatalogTransferService catalogTransferService) {
+        this.catalogTransferService = catalogTransferService;
+    }
+
+    // POST bulk import (text/csv with a header row, or one JSON album per line)
+    @PostMapping("/import")
+    public ImportResult importCatalog(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) MediaType contentType,
+            HttpServletRequest request
+    ) throws IOException {
+        return catalogTransferService.importCatalog(request.getInputStream(), Format.of(contentType));
+    }
+
+    // GET whole catalog, streamed (?format=csv|ndjson)
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportCatalog(@RequestParam(defaultValue = "ndjson") String format,
+                                            HttpServletResponse response) {
+        Format target = Format.from(format);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("catalog." + target.name().toLowerCase())
+                .build();
+
+        response.setContentType(target.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+
+        // Written straight to the response; the null result leaves the body as is
+        return new WebAsyncTask<>(EXPORT_TIMEOUT.toMillis(), () -> {
+            catalogTransferService.exportCatalog(response.getOutputStream(), target);
+            return null;
+        });
+    }
+}
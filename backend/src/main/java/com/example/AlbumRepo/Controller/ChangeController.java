@@ -0,0 +1,33 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.DTO.CatalogChange;
+import com.example.AlbumRepo.Service.ChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+    private final ChangeFeed changeFeed;
+
+    public ChangeController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    // GET live change stream; resumes after Last-Event-ID (sent by EventSource on reconnect) or ?since=
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        String resumeAt = lastEventId != null ? lastEventId : since;
+        return changeFeed.subscribe(resumeAt == null ? null : CatalogChange.Cursor.parse(resumeAt));
+    }
+
+    // GET changes after a cursor (<epoch>-<seq>), for clients that poll instead of streaming
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public CatalogChange.Page getChanges(@RequestParam(required = false) String since) {
+        return changeFeed.changesSince(since == null ? null : CatalogChange.Cursor.parse(since));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Service.CoverImageService;
+import com.example.AlbumRepo.Service.CoverImageService.CoverFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/covers")
+public class CoverController {
+    private final CoverImageService coverImageService;
+
+    public CoverController(@Lazy CoverImageService coverImageService) {
+        this.coverImageService = coverImageService;
+    }
+
+    // GET album cover resized to ?size= (a v= matching the current cover makes the URL immutable)
+    @GetMapping("/{albumId}")
+    public void getCover(
+            @PathVariable Integer albumId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String v,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        CoverFile cover = coverImageService.getCover(albumId, size);
+
+        // Any other v= is stale or made up, and must not pin whatever cover is current now
+        CacheControl cacheControl = cover.version().equals(v)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+
+        if (new ServletWebRequest(request, response).checkNotModified(cover.etag())) return;
+
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        FileResponses.send(cover.path(), cover.length(), request, response);
+    }
+}
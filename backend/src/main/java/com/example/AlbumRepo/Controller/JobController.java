@@ -0,0 +1,22 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.DTO.JobStatus;
+import com.example.AlbumRepo.Service.JobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // GET job progress
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatus> getJob(@PathVariable Integer id) {
+        return ResponseEntity.of(jobService.getJob(id).map(JobStatus::of));
+    }
+}
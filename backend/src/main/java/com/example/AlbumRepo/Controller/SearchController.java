@@ -0,0 +1,24 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.DTO.SearchHit;
+import com.example.AlbumRepo.Service.SearchIndex;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private final SearchIndex searchIndex;
+
+    public SearchController(@Lazy SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    // GET artists, albums and genres matching ?q= (prefix, typo and accent tolerant)
+    @GetMapping
+    public List<SearchHit> search(@RequestParam(defaultValue = "") String q, @RequestParam(required = false) Integer limit) {
+        return searchIndex.search(q, limit);
+    }
+}
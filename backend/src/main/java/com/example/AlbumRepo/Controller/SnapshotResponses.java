@@ -0,0 +1,56 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Service.CatalogSnapshotService.Snapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+
+/**
+ * Turns a catalog snapshot into a conditional response: 304 when the client's
+ * copy is current, otherwise the stored bytes (gzipped if the client accepts it).
+ */
+final class SnapshotResponses {
+    private static final String GZIP_SUFFIX = "-gzip\"";
+
+    private SnapshotResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(Snapshot snapshot, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        // The gzipped body is a different representation, so it gets its own tag
+        String etag = gzip ? snapshot.etag().replaceFirst("\"$", GZIP_SUFFIX) : snapshot.etag();
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(builder.build().getHeaders())
+                    .build();
+        }
+
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return builder.body(snapshot.json());
+    }
+
+    // Either representation's tag identifies the same content
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .map(tag -> tag.endsWith(GZIP_SUFFIX) ? tag.substring(0, tag.length() - GZIP_SUFFIX.length()) + "\"" : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
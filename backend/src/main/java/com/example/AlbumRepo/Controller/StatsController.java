@@ -0,0 +1,22 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.DTO.CatalogStats;
+import com.example.AlbumRepo.Service.StatsService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+    private final StatsService statsService;
+
+    public StatsController(@Lazy StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    // GET catalog-wide counts and rating averages
+    @GetMapping
+    public CatalogStats getStats() {
+        return statsService.getStats();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Service.ListingStreamService.Encoding;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+/**
+ * The NDJSON/CBOR side of the listing endpoints. The JSON handlers produce
+ * {@code application/json} and {@code *}{@code /*}, so these are only chosen
+ * when the client names one of the streamed types in Accept.
+ */
+final class StreamedListings {
+    // A large catalog to a slow client can outlast the container's default async
+    // timeout, which would cut the stream off after the 200 has been sent
+    static final Duration STREAM_TIMEOUT = Duration.ofMinutes(10);
+
+    private StreamedListings() {
+    }
+
+    static WebAsyncTask<Void> of(String accept, HttpServletResponse response, BiConsumer<OutputStream, Encoding> writer) {
+        Encoding negotiated = Encoding.negotiate(accept);
+        Encoding encoding = negotiated != null ? negotiated : Encoding.NDJSON;
+
+        response.setContentType(encoding.mediaType().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        // Written straight to the response; the null result leaves the body as is
+        return new WebAsyncTask<>(STREAM_TIMEOUT.toMillis(), () -> {
+            writer.accept(response.getOutputStream(), encoding);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Service.SyncService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+    // A full resync of a large catalog can outlast the container's default async timeout
+    private static final Duration SYNC_TIMEOUT = Duration.ofMinutes(10);
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // GET rows created, updated or deleted after ?since= (ISO-8601 instant; omit, or older than the retention, for everything)
+    @GetMapping
+    public WebAsyncTask<Void> getChanges(@RequestParam(required = false) String since, HttpServletResponse response) {
+        Instant from = parse(since);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+
+        // Written straight to the response; the null result leaves the body as is
+        return new WebAsyncTask<>(SYNC_TIMEOUT.toMillis(), () -> {
+            syncService.writeChanges(from, response.getOutputStream());
+            return null;
+        });
+    }
+
+    private static Instant parse(String since) {
+        if (since == null || since.isBlank()) return Instant.EPOCH;
+        try {
+            return Instant.parse(since);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since must be an ISO-8601 instant, e.g. 2025-01-31T12:00:00Z");
+        }
+    }
+}
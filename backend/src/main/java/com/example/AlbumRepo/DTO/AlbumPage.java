@@ -0,0 +1,21 @@
+package com.example.AlbumRepo.DTO;
+
+import com.example.AlbumRepo.Entity.Album;
+import java.util.List;
+
+/**
+ * One page of album search results. {@code nextCursor} is null on the last page.
+ * {@code totals} covers every match, not just this page, and is only sent with
+ * the first page (the one requested without a cursor).
+ */
+public record AlbumPage(List<Album> items, String nextCursor, Totals totals) {
+
+    /**
+     * @param albums    albums matching the filters
+     * @param rated     how many of them have a rating
+     * @param artists   distinct artists among them
+     * @param avgRating mean rating of the rated ones, null when none are
+     */
+    public record Totals(long albums, long rated, long artists, Double avgRating) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.AlbumRepo.DTO;
+
+/**
+ * Query parameters accepted by {@code GET /api/albums/search}. Mirrors the
+ * filters and sort options of the album list page.
+ *
+ * @param letter   artist letter ("#" for digits/symbols)
+ * @param artistId restrict to a single artist
+ * @param genre    case-insensitive substring of the genre
+ * @param year     release year or a prefix of it ("199" matches the 1990s)
+ * @param rating   rating bucket (4 matches 4.0 - 4.9), or "null" for unrated albums
+ * @param sortBy   artist, title, year, genre or rating
+ * @param order    asc or desc
+ * @param cursor   opaque cursor returned as {@code nextCursor} by the previous page
+ * @param size     page size
+ */
+public record AlbumSearchCriteria(
+        String letter,
+        Integer artistId,
+        String genre,
+        String year,
+        String rating,
+        String sortBy,
+        String order,
+        String cursor,
+        Integer size
+) {
+}
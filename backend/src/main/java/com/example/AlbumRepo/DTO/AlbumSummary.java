@@ -0,0 +1,26 @@
+package com.example.AlbumRepo.DTO;
+
+/**
+ * Album card as served by the album listing: the album's own columns plus
+ * the artist fields the card shows. Same JSON shape as the {@code Album} entity.
+ */
+public record AlbumSummary(
+        Integer id,
+        String albumName,
+        Integer releaseYear,
+        Integer releaseOrder,
+        String genre,
+        Double rating,
+        String coverURL,
+        ArtistRef artist
+) {
+    public record ArtistRef(Integer id, Character letter, String artistName) {
+    }
+
+    // Flat form for JPQL constructor expressions, which can't nest
+    public AlbumSummary(Integer id, String albumName, Integer releaseYear, Integer releaseOrder, String genre,
+                        Double rating, String coverURL, Integer artistId, Character letter, String artistName) {
+        this(id, albumName, releaseYear, releaseOrder, genre, rating, coverURL,
+                new ArtistRef(artistId, letter, artistName));
+    }
+}
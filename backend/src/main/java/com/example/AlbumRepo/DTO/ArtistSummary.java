@@ -0,0 +1,59 @@
+package com.example.AlbumRepo.DTO;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Artist card as served by the artist listing. Albums carry only what the
+ * card and its filters use (count, rating), not covers or genres.
+ */
+public record ArtistSummary(Integer id, Character letter, String artistName, List<AlbumRef> albums) {
+
+    public record AlbumRef(Integer id, String albumName, Integer releaseYear, Double rating) {
+    }
+
+    /**
+     * One artist/album pair from a left join; the album fields are null for
+     * artists without albums.
+     */
+    public record Row(Integer artistId, Character letter, String artistName,
+                      Integer albumId, String albumName, Integer releaseYear, Double rating) {
+    }
+
+    // Folds join rows back into one summary per artist, in row order
+    public static List<ArtistSummary> group(List<Row> rows) {
+        Map<Integer, ArtistSummary> artists = new LinkedHashMap<>();
+
+        for (Row row : rows) {
+            ArtistSummary artist = artists.computeIfAbsent(row.artistId(),
+                    id -> new ArtistSummary(id, row.letter(), row.artistName(), new ArrayList<>()));
+
+            if (row.albumId() != null) {
+                artist.albums().add(new AlbumRef(row.albumId(), row.albumName(), row.releaseYear(), row.rating()));
+            }
+        }
+        return new ArrayList<>(artists.values());
+    }
+
+    // Streaming variant of group: rows must be ordered by artist, and each summary is passed on once complete
+    public static void group(Iterator<Row> rows, Consumer<ArtistSummary> sink) {
+        ArtistSummary current = null;
+
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            if (current == null || !current.id().equals(row.artistId())) {
+                if (current != null) sink.accept(current);
+                current = new ArtistSummary(row.artistId(), row.letter(), row.artistName(), new ArrayList<>());
+            }
+
+            if (row.albumId() != null) {
+                current.albums().add(new AlbumRef(row.albumId(), row.albumName(), row.releaseYear(), row.rating()));
+            }
+        }
+        if (current != null) sink.accept(current);
+    }
+}
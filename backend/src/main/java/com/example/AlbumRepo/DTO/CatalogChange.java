@@ -0,0 +1,50 @@
+package com.example.AlbumRepo.DTO;
+
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One entry of the change feed ({@code GET /api/changes}). {@code seq} grows
+ * by one per committed change; {@code relatedIds} are as in
+ * {@link com.example.AlbumRepo.Event.CatalogChangedEvent}.
+ */
+public record CatalogChange(long seq, Kind kind, Action action, Integer id, List<Integer> relatedIds, Instant at) {
+
+    /**
+     * Changes after a client's {@code since}. When {@code reset} is true the
+     * log no longer reaches back that far (or the cursor is from before a
+     * restart), and the client has to reload the catalog and continue from
+     * {@code latest}.
+     */
+    public record Page(String latest, boolean reset, List<CatalogChange> changes) {
+    }
+
+    /**
+     * A position in the feed, written {@code <epoch>-<seq>}. Numbering starts
+     * again on every server start, so the epoch tells one run's sequence
+     * numbers from another's.
+     */
+    public record Cursor(long epoch, long seq) {
+
+        // Anything unreadable (including a bare seq from an older client) is from an unknown epoch
+        public static Cursor parse(String value) {
+            int dash = value == null ? -1 : value.indexOf('-');
+            if (dash > 0) {
+                try {
+                    return new Cursor(Long.parseLong(value.substring(0, dash)), Long.parseLong(value.substring(dash + 1)));
+                } catch (NumberFormatException ignored) {
+                    // falls through
+                }
+            }
+            return new Cursor(-1, 0);
+        }
+
+        @Override
+        public String toString() {
+            return epoch + "-" + seq;
+        }
+    }
+}
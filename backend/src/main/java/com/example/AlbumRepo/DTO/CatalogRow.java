@@ -0,0 +1,20 @@
+package com.example.AlbumRepo.DTO;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * One album with its artist, flattened for {@code /api/import} and
+ * {@code /api/export}. The property order is the CSV column order.
+ */
+@JsonPropertyOrder({"artistName", "letter", "albumName", "releaseYear", "releaseOrder", "genre", "rating", "coverURL"})
+public record CatalogRow(
+        String artistName,
+        Character letter,
+        String albumName,
+        Integer releaseYear,
+        Integer releaseOrder,
+        String genre,
+        Double rating,
+        String coverURL
+) {
+}
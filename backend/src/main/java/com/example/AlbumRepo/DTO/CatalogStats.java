@@ -0,0 +1,26 @@
+package com.example.AlbumRepo.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog-wide counts served by {@code GET /api/stats}. Albums without a
+ * genre, year or rating are counted under "none", "unknown" and "unrated".
+ * Rating buckets follow the album search filter: "7" covers [7, 8).
+ */
+public record CatalogStats(
+        long albums,
+        long artists,
+        long ratedAlbums,
+        Double averageRating,
+        Map<String, Long> albumsByLetter,
+        Map<String, Long> artistsByLetter,
+        Map<String, Long> albumsByGenre,
+        Map<String, Long> albumsByDecade,
+        Map<String, Long> albumsByRating,
+        List<ArtistStats> perArtist
+) {
+    public record ArtistStats(Integer id, String artistName, Character letter, long albums, long ratedAlbums,
+                              Double averageRating) {
+    }
+}
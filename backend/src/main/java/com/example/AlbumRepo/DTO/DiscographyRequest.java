@@ -0,0 +1,15 @@
+package com.example.AlbumRepo.DTO;
+
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/artists/{id}/discography}: the artist and the full
+ * list of their albums. Albums are matched to existing ones by id, or by name
+ * when no id is given; existing albums missing from the list are deleted.
+ */
+public record DiscographyRequest(String artistName, Character letter, List<AlbumEntry> albums) {
+
+    public record AlbumEntry(Integer id, String albumName, Integer releaseYear, Integer releaseOrder, String genre,
+                             Double rating, String coverURL) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.AlbumRepo.DTO;
+
+import com.example.AlbumRepo.Entity.Job;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Progress report returned by {@code GET /api/jobs/{id}}. {@code etaSeconds}
+ * extrapolates from the average time per album so far and is null until the
+ * job has made progress.
+ */
+public record JobStatus(
+        Integer id,
+        Job.Type type,
+        Job.Status status,
+        Integer albumId,
+        int total,
+        int processed,
+        int succeeded,
+        int failed,
+        Long etaSeconds,
+        String error,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public static JobStatus of(Job job) {
+        int processed = job.getSucceeded() + job.getFailed();
+        return new JobStatus(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getAlbumId(),
+                job.getTotal(),
+                processed,
+                job.getSucceeded(),
+                job.getFailed(),
+                eta(job, processed),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+
+    private static Long eta(Job job, int processed) {
+        if (job.getStatus() != Job.Status.RUNNING) return job.getStatus() == Job.Status.QUEUED ? null : 0L;
+        if (processed == 0 || job.getStartedAt() == null) return null;
+
+        long elapsedMillis = Duration.between(job.getStartedAt(), Instant.now()).toMillis();
+        return elapsedMillis * (job.getTotal() - processed) / processed / 1000;
+    }
+}
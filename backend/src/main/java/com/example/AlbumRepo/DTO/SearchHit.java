@@ -0,0 +1,25 @@
+package com.example.AlbumRepo.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One {@code GET /api/search} result. Artist and genre hits leave the album
+ * fields out; genre hits have no id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchHit(
+        Type type,
+        Integer id,
+        String name,
+        Integer artistId,
+        String artistName,
+        Integer releaseYear,
+        String coverURL,
+        double score
+) {
+    public enum Type { ALBUM, ARTIST, GENRE }
+
+    public SearchHit withScore(double score) {
+        return new SearchHit(type, id, name, artistId, artistName, releaseYear, coverURL, score);
+    }
+}
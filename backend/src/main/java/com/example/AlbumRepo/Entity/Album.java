@@ -1,18 +1,34 @@
 package com.example.AlbumRepo.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.Instant;
+
+// Updates name only the changed columns, so a rating edit is a one-column write
 @Entity
 @Table(name = "Albums")
+@EntityListeners(CatalogEntityListener.class)
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-albums")
 public class Album {
+    // Pooled so inserts can be batched; see V5__pooled_ids.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "albums_seq")
+    @SequenceGenerator(name = "albums_seq", sequenceName = "Albums_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy: queries that return albums to clients fetch it (see IAlbumRepository, AlbumSpecifications).
+    // An album read from the second-level cache gets an (initialized) proxy, hence hibernateLazyInitializer
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artist_id", nullable = false)
-    @JsonIgnoreProperties("albums")
+    @JsonIgnoreProperties({"albums", "hibernateLazyInitializer"})
     private Artist artist;
 
     @Column(name = "album_name")
@@ -30,6 +46,38 @@ public class Album {
     @Column(name = "cover_url")
     private String coverURL;
 
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Search sort keys computed by the database (see V9__album_sort_keys.sql). Only
+    // referenced by AlbumSpecifications; read the source fields above instead.
+    @Column(name = "sort_title", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(255) GENERATED ALWAYS AS (COALESCE(album_name, ''))")
+    private String sortTitle;
+
+    @Column(name = "sort_year", insertable = false, updatable = false,
+            columnDefinition = "INT GENERATED ALWAYS AS (COALESCE(release_year, 9999))")
+    private Integer sortYear;
+
+    @Column(name = "sort_order", insertable = false, updatable = false,
+            columnDefinition = "INT GENERATED ALWAYS AS (COALESCE(release_order, 9999))")
+    private Integer sortOrder;
+
+    @Column(name = "sort_genre", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(255) GENERATED ALWAYS AS (COALESCE(genre, ''))")
+    private String sortGenre;
+
+    @Column(name = "sort_rating", insertable = false, updatable = false,
+            columnDefinition = "DOUBLE GENERATED ALWAYS AS (COALESCE(rating, -1))")
+    private Double sortRating;
+
+    // Exposed as the ETag; If-Match and stale writes are checked against it
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
 
@@ -53,4 +101,10 @@ public class Album {
 
     public String getCoverURL() { return coverURL; }
     public void setCoverURL(String coverURL) { this.coverURL = coverURL; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
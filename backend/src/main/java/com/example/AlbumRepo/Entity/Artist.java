@@ -1,14 +1,24 @@
 package com.example.AlbumRepo.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.text.Normalizer;
+import java.time.Instant;
 import java.util.List;
 
 @Entity
 @Table(name = "Artists")
+@EntityListeners(CatalogEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-artists")
 public class Artist {
+    // Pooled so inserts can be batched; see V5__pooled_ids.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artists_seq")
+    @SequenceGenerator(name = "artists_seq", sequenceName = "Artists_seq", allocationSize = 50)
     private Integer id;
 
     private Character letter;
@@ -16,7 +26,17 @@ public class Artist {
     @Column(name = "artist_name")
     private String artistName;
 
+    // Normalized name used for ordering (see normalizeArtistName on the frontend)
+    @JsonIgnore
+    @Column(name = "sort_name", nullable = false)
+    private String sortName;
+
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "artist", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-artist-albums")
     @JsonIgnoreProperties("artist")
     private List<Album> albums;
 
@@ -29,6 +49,35 @@ public class Artist {
     public String getArtistName() { return artistName; }
     public void setArtistName(String artistName) { this.artistName = artistName; }
 
+    public String getSortName() { return sortName; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
     public List<Album> getAlbums() { return albums; }
     public void setAlbums(List<Album> albums) { this.albums = albums; }
+
+    @PrePersist
+    @PreUpdate
+    void updateSortName() {
+        this.sortName = artistName == null ? "" : toSortName(artistName);
+    }
+
+    // Index letter as the frontend files it: first letter of the sort name, '#' for digits
+    public static Character toLetter(String name) {
+        String sortName = toSortName(name);
+        if (sortName == null || sortName.isEmpty() || Character.isDigit(sortName.charAt(0))) return '#';
+        return Character.toUpperCase(sortName.charAt(0));
+    }
+
+    public static String toSortName(String name) {
+        if (name == null) return null;
+
+        String stripped = Normalizer.normalize(name.trim()
+                        .replace("Æ", "Ae").replace("æ", "ae")
+                        .replace("Œ", "Oe").replace("œ", "oe"), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+
+        return stripped.replaceFirst("(?i)^(the|a|an)\\s+", "").toLowerCase();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.AlbumRepo.Entity;
+
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import com.example.AlbumRepo.Repository.TombstoneRepository;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Keeps what delta sync reads: {@code updatedAt} on every insert and update,
+ * and a tombstone for every delete (including albums removed by cascade).
+ * Hibernate builds it through Spring, so the repository is injected.
+ */
+public class CatalogEntityListener {
+    private final ObjectProvider<TombstoneRepository> tombstones;
+
+    public CatalogEntityListener(ObjectProvider<TombstoneRepository> tombstones) {
+        this.tombstones = tombstones;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Object entity) {
+        Instant now = now();
+        if (entity instanceof Album album) album.setUpdatedAt(now);
+        else if (entity instanceof Artist artist) artist.setUpdatedAt(now);
+    }
+
+    @PostRemove
+    void tombstone(Object entity) {
+        if (entity instanceof Album album) tombstones.getObject().record(Kind.ALBUM, album.getId(), now());
+        else if (entity instanceof Artist artist) tombstones.getObject().record(Kind.ARTIST, artist.getId(), now());
+    }
+
+    // TIMESTAMP(6) keeps microseconds; truncating keeps comparisons exact
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.AlbumRepo.Entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.Instant;
+
+@Entity
+@Table(name = "CoverLookups")
+public class CoverLookup {
+    public enum Provider { SPOTIFY, MUSICBRAINZ }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Provider provider;
+
+    @Column(name = "artist_key")
+    private String artistKey;
+
+    @Column(name = "album_key")
+    private String albumKey;
+
+    // null when the provider had nothing for this album
+    @Column(name = "cover_url")
+    private String coverURL;
+
+    private int misses;
+
+    @Column(name = "checked_at")
+    private Instant checkedAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Provider getProvider() { return provider; }
+    public void setProvider(Provider provider) { this.provider = provider; }
+
+    public String getArtistKey() { return artistKey; }
+    public void setArtistKey(String artistKey) { this.artistKey = artistKey; }
+
+    public String getAlbumKey() { return albumKey; }
+    public void setAlbumKey(String albumKey) { this.albumKey = albumKey; }
+
+    public String getCoverURL() { return coverURL; }
+    public void setCoverURL(String coverURL) { this.coverURL = coverURL; }
+
+    public int getMisses() { return misses; }
+    public void setMisses(int misses) { this.misses = misses; }
+
+    public Instant getCheckedAt() { return checkedAt; }
+    public void setCheckedAt(Instant checkedAt) { this.checkedAt = checkedAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
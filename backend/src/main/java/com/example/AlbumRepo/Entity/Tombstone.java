@@ -0,0 +1,35 @@
+package com.example.AlbumRepo.Entity;
+
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.Instant;
+
+// Written by CatalogEntityListener through TombstoneRepository; mapped so the schema knows the table
+@Entity
+@Table(name = "Tombstones")
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public Long getId() { return id; }
+
+    public Kind getKind() { return kind; }
+
+    public Integer getEntityId() { return entityId; }
+
+    public Instant getDeletedAt() { return deletedAt; }
+}
@@ -0,0 +1,26 @@
+package com.example.AlbumRepo.Event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published by every write to the catalog. {@code relatedIds} are the artists
+ * an album belonged to (before and after the change) or the albums an artist
+ * carries, so listeners can tell which of the embedded copies went stale.
+ */
+public record CatalogChangedEvent(Kind kind, Action action, Integer id, List<Integer> relatedIds) {
+    public enum Kind { ALBUM, ARTIST }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    public static CatalogChangedEvent album(Action action, Integer albumId, Integer... artistIds) {
+        List<Integer> related = Arrays.stream(artistIds).filter(Objects::nonNull).distinct().toList();
+        return new CatalogChangedEvent(Kind.ALBUM, action, albumId, related);
+    }
+
+    public static CatalogChangedEvent artist(Action action, Integer artistId, Collection<Integer> albumIds) {
+        return new CatalogChangedEvent(Kind.ARTIST, action, artistId, List.copyOf(albumIds));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.AlbumRepo.Repository;
+
+/**
+ * Sort options offered by the album list. Every option falls back to the
+ * artist ordering (artist, year, release order, title) and finally the id.
+ */
+public enum AlbumSort {
+    ARTIST,
+    TITLE,
+    YEAR,
+    GENRE,
+    RATING;
+
+    public static AlbumSort from(String value) {
+        if (value == null || value.isBlank()) return ARTIST;
+
+        for (AlbumSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value.trim())) return sort;
+        }
+        return ARTIST;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.AlbumRepo.Repository;
+
+import com.example.AlbumRepo.DTO.AlbumSearchCriteria;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Criteria building blocks for the album search endpoint. Ordering and the
+ * keyset cursor use the generated sort columns (V9__album_sort_keys.sql), which
+ * fill in the same sentinels the frontend used when it sorted client-side, so
+ * pagination sees a total order and MySQL can walk the sort indexes.
+ */
+public final class AlbumSpecifications {
+    private static final int UNKNOWN_YEAR = 9999;
+    private static final double UNRATED = -1.0;
+
+    private AlbumSpecifications() {
+    }
+
+    /* =========================
+       FILTERS
+       ========================= */
+
+    public static Specification<Album> matching(AlbumSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            Join<Album, Artist> artist = artist(root, query);
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(criteria.letter())) {
+                predicates.add(cb.equal(artist.get("letter"), Character.toUpperCase(criteria.letter().trim().charAt(0))));
+            }
+
+            if (criteria.artistId() != null) {
+                predicates.add(cb.equal(artist.get("id"), criteria.artistId()));
+            }
+
+            // Anywhere in the genre, like the list page's filter. No index can serve
+            // a leading wildcard; it only narrows the rows the sort index walks
+            if (hasText(criteria.genre())) {
+                String pattern = "%" + criteria.genre().trim().toLowerCase().replaceAll("[\\\\%_]", "\\\\$0") + "%";
+                predicates.add(cb.like(cb.lower(root.get("genre")), pattern, '\\'));
+            }
+
+            if (hasText(criteria.year())) {
+                predicates.add(yearPrefix(root, cb, criteria.year().trim()));
+            }
+
+            if (hasText(criteria.rating())) {
+                predicates.add(ratingBucket(root, cb, criteria.rating().trim()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // "199" matches 1990-1999, "2001" matches 2001 only. Ranges over the sort
+    // column so idx_albums_sort_year serves them; the bound keeps out unknown years
+    private static Predicate yearPrefix(Root<Album> root, CriteriaBuilder cb, String year) {
+        if (!year.matches("\\d{1,4}")) return cb.disjunction();
+
+        int scale = (int) Math.pow(10, 4 - year.length());
+        int from = Integer.parseInt(year) * scale;
+
+        return cb.between(root.get("sortYear"), from, Math.min(from + scale - 1, UNKNOWN_YEAR - 1));
+    }
+
+    // "7" matches 7.0 up to (but excluding) 8.0, "null" matches unrated albums.
+    // Also over the sort column (idx_albums_sort_rating), where unrated is a value
+    private static Predicate ratingBucket(Root<Album> root, CriteriaBuilder cb, String rating) {
+        if (rating.equalsIgnoreCase("null")) return cb.equal(root.get("sortRating"), UNRATED);
+        if (!rating.matches("\\d{1,2}")) return cb.disjunction();
+
+        double from = Integer.parseInt(rating);
+
+        return cb.and(
+                cb.greaterThanOrEqualTo(root.get("sortRating"), from),
+                cb.lessThan(root.get("sortRating"), from + 1)
+        );
+    }
+
+    /* =========================
+       ORDERING / KEYSET
+       ========================= */
+
+    /**
+     * Orders by {@code sort} and, when {@code after} holds the cursor values of
+     * the previous page's last row, only returns rows that come after it.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Album> orderedAfter(AlbumSort sort, boolean descending, List<Object> after) {
+        return (root, query, cb) -> {
+            List<Expression<Comparable>> keys = sortKeys(sort, root, artist(root, query), cb);
+
+            query.orderBy(keys.stream()
+                    .map(key -> descending ? cb.desc(key) : cb.asc(key))
+                    .toList());
+
+            if (after == null) return null;
+
+            // The bound on the leading key is implied by the OR-chain below, but
+            // unlike it, MySQL can use it as an index range
+            Expression<Comparable> leading = keys.get(0);
+            Comparable from = (Comparable) after.get(0);
+            Predicate range = descending ? cb.lessThanOrEqualTo(leading, from) : cb.greaterThanOrEqualTo(leading, from);
+
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalPrefix = new ArrayList<>();
+
+            for (int i = 0; i < keys.size(); i++) {
+                Expression<Comparable> key = keys.get(i);
+                Comparable value = (Comparable) after.get(i);
+
+                List<Predicate> branch = new ArrayList<>(equalPrefix);
+                branch.add(descending ? cb.lessThan(key, value) : cb.greaterThan(key, value));
+                alternatives.add(cb.and(branch.toArray(Predicate[]::new)));
+
+                equalPrefix.add(cb.equal(key, value));
+            }
+
+            return cb.and(range, cb.or(alternatives.toArray(Predicate[]::new)));
+        };
+    }
+
+    /**
+     * Values of the sort keys for {@code album}, in the order used by
+     * {@link #orderedAfter}. These are what a cursor encodes.
+     */
+    public static List<Object> cursorValues(AlbumSort sort, Album album) {
+        return columns(sort).stream()
+                .map(column -> column.value().apply(album))
+                .toList();
+    }
+
+    /**
+     * Java types of the cursor values, used to restore them after decoding.
+     */
+    public static List<Class<?>> cursorTypes(AlbumSort sort) {
+        return columns(sort).stream()
+                .<Class<?>>map(SortColumn::type)
+                .toList();
+    }
+
+    private interface KeyExpression {
+        Expression<?> build(Root<Album> root, Join<Album, Artist> artist, CriteriaBuilder cb);
+    }
+
+    private record SortColumn(KeyExpression expression, Class<?> type, Function<Album, Object> value) {
+    }
+
+    // Cursor values come from the album's own fields, with the sentinels the generated columns use
+    private static final SortColumn ARTIST_NAME = new SortColumn(
+            (root, artist, cb) -> artist.get("sortName"), String.class,
+            a -> a.getArtist().getSortName() == null ? "" : a.getArtist().getSortName());
+    private static final SortColumn YEAR = new SortColumn(
+            (root, artist, cb) -> root.get("sortYear"), Integer.class,
+            a -> a.getReleaseYear() == null ? UNKNOWN_YEAR : a.getReleaseYear());
+    private static final SortColumn ORDER = new SortColumn(
+            (root, artist, cb) -> root.get("sortOrder"), Integer.class,
+            a -> a.getReleaseOrder() == null ? UNKNOWN_YEAR : a.getReleaseOrder());
+    private static final SortColumn TITLE = new SortColumn(
+            (root, artist, cb) -> root.get("sortTitle"), String.class,
+            a -> a.getAlbumName() == null ? "" : a.getAlbumName());
+    private static final SortColumn GENRE = new SortColumn(
+            (root, artist, cb) -> root.get("sortGenre"), String.class,
+            a -> a.getGenre() == null ? "" : a.getGenre());
+    private static final SortColumn RATING = new SortColumn(
+            (root, artist, cb) -> root.get("sortRating"), Double.class,
+            a -> a.getRating() == null ? UNRATED : a.getRating());
+    private static final SortColumn ID = new SortColumn(
+            (root, artist, cb) -> root.get("id"), Integer.class,
+            Album::getId);
+
+    private static List<SortColumn> columns(AlbumSort sort) {
+        return switch (sort) {
+            case ARTIST -> List.of(ARTIST_NAME, YEAR, ORDER, TITLE, ID);
+            case TITLE -> List.of(TITLE, ARTIST_NAME, YEAR, ORDER, ID);
+            case YEAR -> List.of(YEAR, ORDER, ARTIST_NAME, TITLE, ID);
+            case GENRE -> List.of(GENRE, ARTIST_NAME, YEAR, ORDER, TITLE, ID);
+            case RATING -> List.of(RATING, ARTIST_NAME, YEAR, ORDER, TITLE, ID);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Expression<Comparable>> sortKeys(AlbumSort sort, Root<Album> root, Join<Album, Artist> artist, CriteriaBuilder cb) {
+        return columns(sort).stream()
+                .map(column -> (Expression<Comparable>) column.expression().build(root, artist, cb))
+                .toList();
+    }
+
+    /* =========================
+       HELPERS
+       ========================= */
+
+    // Reuse the artist fetch join for filtering and ordering so the artist is
+    // loaded by the same statement. Count and totals queries can't carry a fetch.
+    @SuppressWarnings("unchecked")
+    private static Join<Album, Artist> artist(Root<Album> root, CriteriaQuery<?> query) {
+        for (Fetch<Album, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("artist")) {
+                return (Join<Album, Artist>) fetch;
+            }
+        }
+        for (Join<Album, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("artist")) {
+                return (Join<Album, Artist>) join;
+            }
+        }
+
+        boolean selectsAlbums = Album.class.equals(query.getResultType());
+        return selectsAlbums
+                ? (Join<Album, Artist>) root.<Album, Artist>fetch("artist", JoinType.INNER)
+                : root.join("artist", JoinType.INNER);
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
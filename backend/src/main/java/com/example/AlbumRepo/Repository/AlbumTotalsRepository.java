@@ -0,0 +1,47 @@
+package com.example.AlbumRepo.Repository;
+
+import com.example.AlbumRepo.DTO.AlbumPage;
+import com.example.AlbumRepo.Entity.Album;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Aggregates over an album search, for the list page's summary bar. One
+ * statement, so the counts agree with each other; Spring Data's
+ * {@code count(spec)} can only produce the first of them.
+ */
+@Repository
+public class AlbumTotalsRepository {
+    private final EntityManager entityManager;
+
+    public AlbumTotalsRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public AlbumPage.Totals totals(Specification<Album> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Album> root = query.from(Album.class);
+
+        query.where(spec.toPredicate(root, query, cb));
+        query.multiselect(
+                cb.count(root),
+                cb.count(root.get("rating")),
+                cb.countDistinct(root.get("artist").get("id")),
+                cb.avg(root.get("rating"))
+        );
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        return new AlbumPage.Totals(
+                row.get(0, Long.class),
+                row.get(1, Long.class),
+                row.get(2, Long.class),
+                row.get(3, Double.class)
+        );
+    }
+}
@@ -1,14 +1,73 @@
 package com.example.AlbumRepo.Repository;
 
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.DTO.CatalogRow;
 import com.example.AlbumRepo.Entity.Album;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface IAlbumRepository extends JpaRepository<Album,Integer> {
-    @Query("SELECT a FROM Album a JOIN FETCH a.artist")
-    List<Album> findAllWithArtists();
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface IAlbumRepository extends JpaRepository<Album,Integer>, JpaSpecificationExecutor<Album> {
+    // Detail load: the artist is joined on a cache miss; a second-level cache hit runs no SQL at all
+    @Override
+    @EntityGraph(attributePaths = "artist")
+    Optional<Album> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "artist")
+    List<Album> findAllById(Iterable<Integer> ids);
+
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.AlbumSummary(
+        a.id, a.albumName, a.releaseYear, a.releaseOrder, a.genre, a.rating, a.coverURL,
+        ar.id, ar.letter, ar.artistName)
+    FROM Album a
+    JOIN a.artist ar
+    ORDER BY a.id
+    """) List<AlbumSummary> findAllSummaries();
+
+    // Same rows as findAllSummaries, read from a cursor for the streamed listing
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.AlbumSummary(
+        a.id, a.albumName, a.releaseYear, a.releaseOrder, a.genre, a.rating, a.coverURL,
+        ar.id, ar.letter, ar.artistName)
+    FROM Album a
+    JOIN a.artist ar
+    ORDER BY a.id
+    """) Stream<AlbumSummary> streamAllSummaries();
+
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.AlbumSummary(
+        a.id, a.albumName, a.releaseYear, a.releaseOrder, a.genre, a.rating, a.coverURL,
+        ar.id, ar.letter, ar.artistName)
+    FROM Album a
+    JOIN a.artist ar
+    WHERE a.id IN :ids
+    """) List<AlbumSummary> findSummariesByIdIn(Collection<Integer> ids);
+
+    // Delta sync: albums written after since, in id order
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.AlbumSummary(
+        a.id, a.albumName, a.releaseYear, a.releaseOrder, a.genre, a.rating, a.coverURL,
+        ar.id, ar.letter, ar.artistName)
+    FROM Album a
+    JOIN a.artist ar
+    WHERE a.updatedAt > :since
+    ORDER BY a.id
+    """) Stream<AlbumSummary> streamSummariesUpdatedSince(Instant since);
 
     @Query("""
     SELECT a
@@ -18,4 +77,14 @@ public interface IAlbumRepository extends JpaRepository<Album,Integer> {
        OR TRIM(a.coverURL) = ''
        OR a.coverURL LIKE '%default-cover%'
     """) List<Album> findAllWithoutCovers();
-}
\ No newline at end of file
+
+    // Forward-only: rows are read from a cursor as the stream is consumed (MySQL needs useCursorFetch)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.CatalogRow(
+        ar.artistName, ar.letter, a.albumName, a.releaseYear, a.releaseOrder, a.genre, a.rating, a.coverURL)
+    FROM Album a
+    JOIN a.artist ar
+    ORDER BY a.id
+    """) Stream<CatalogRow> streamCatalogRows();
+}
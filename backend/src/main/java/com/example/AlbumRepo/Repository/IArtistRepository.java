@@ -1,12 +1,54 @@
 package com.example.AlbumRepo.Repository;
 
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.DTO.ArtistSummary;
 import com.example.AlbumRepo.Entity.Artist;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface IArtistRepository extends JpaRepository<Artist,Integer> {
-    @Query("SELECT a FROM Artist a LEFT JOIN FETCH a.albums")
-    List<Artist> findAllWithAlbums();
-}
\ No newline at end of file
+    // One row per artist/album pair; see ArtistSummary.group
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.ArtistSummary$Row(
+        ar.id, ar.letter, ar.artistName, a.id, a.albumName, a.releaseYear, a.rating)
+    FROM Artist ar
+    LEFT JOIN ar.albums a
+    ORDER BY ar.id, a.id
+    """) List<ArtistSummary.Row> findAllSummaryRows();
+
+    // Same rows as findAllSummaryRows, read from a cursor for the streamed listing
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.ArtistSummary$Row(
+        ar.id, ar.letter, ar.artistName, a.id, a.albumName, a.releaseYear, a.rating)
+    FROM Artist ar
+    LEFT JOIN ar.albums a
+    ORDER BY ar.id, a.id
+    """) Stream<ArtistSummary.Row> streamAllSummaryRows();
+
+    // Detail load: albums are joined on a cache miss; a second-level cache hit runs no SQL at all
+    @Override
+    @EntityGraph(attributePaths = "albums")
+    Optional<Artist> findById(Integer id);
+
+    // Delta sync: artists written after since, in id order
+    @Query("""
+    SELECT new com.example.AlbumRepo.DTO.AlbumSummary$ArtistRef(ar.id, ar.letter, ar.artistName)
+    FROM Artist ar
+    WHERE ar.updatedAt > :since
+    ORDER BY ar.id
+    """) Stream<AlbumSummary.ArtistRef> streamRefsUpdatedSince(Instant since);
+
+    List<Artist> findByArtistNameIn(Collection<String> artistNames);
+}
@@ -0,0 +1,7 @@
+package com.example.AlbumRepo.Repository;
+
+import com.example.AlbumRepo.Entity.CoverLookup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ICoverLookupRepository extends JpaRepository<CoverLookup,Integer> {
+}
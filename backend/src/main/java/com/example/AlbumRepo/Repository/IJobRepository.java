@@ -0,0 +1,14 @@
+package com.example.AlbumRepo.Repository;
+
+import com.example.AlbumRepo.Entity.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IJobRepository extends JpaRepository<Job,Integer> {
+    List<Job> findByStatusInOrderById(Collection<Job.Status> statuses);
+
+    Optional<Job> findFirstByTypeAndStatusIn(Job.Type type, Collection<Job.Status> statuses);
+}
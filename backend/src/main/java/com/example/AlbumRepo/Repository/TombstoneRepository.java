@@ -0,0 +1,48 @@
+package com.example.AlbumRepo.Repository;
+
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Deletions recorded for delta sync. Plain JDBC: rows are written from the
+ * entity listener in the middle of a flush, where going through the
+ * EntityManager again is not allowed.
+ */
+@Repository
+public class TombstoneRepository {
+
+    public record Deletion(Kind kind, Integer id, Instant deletedAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public TombstoneRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void record(Kind kind, Integer entityId, Instant deletedAt) {
+        jdbc.update("INSERT INTO Tombstones (kind, entity_id, deleted_at) VALUES (?, ?, ?)",
+                kind.name(), entityId, Timestamp.from(deletedAt));
+    }
+
+    public int deleteBefore(Instant cutoff) {
+        return jdbc.update("DELETE FROM Tombstones WHERE deleted_at < ?", Timestamp.from(cutoff));
+    }
+
+    // Must be consumed inside a transaction, like the repository streams
+    public Stream<Deletion> streamSince(Instant since) {
+        return jdbc.queryForStream("""
+                        SELECT kind, entity_id, deleted_at FROM Tombstones
+                        WHERE deleted_at > ?
+                        ORDER BY entity_id, deleted_at
+                        """,
+                (rs, row) -> new Deletion(Kind.valueOf(rs.getString("kind")), rs.getInt("entity_id"),
+                        rs.getTimestamp("deleted_at").toInstant()),
+                Timestamp.from(since));
+    }
+}
@@ -1,17 +1,235 @@
 package com.example.AlbumRepo.Service;
 
+import com.example.AlbumRepo.Config.ReplicaRoutingDataSource;
+import com.example.AlbumRepo.DTO.AlbumPage;
+import com.example.AlbumRepo.DTO.AlbumSearchCriteria;
 import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Repository.AlbumSort;
+import com.example.AlbumRepo.Repository.AlbumSpecifications;
+import com.example.AlbumRepo.Repository.AlbumTotalsRepository;
 import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AlbumService {
+    private static final int DEFAULT_PAGE_SIZE = 60;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final IAlbumRepository albumRepository;
+    private final IArtistRepository artistRepository;
+    private final AlbumTotalsRepository albumTotalsRepository;
+    private final ApplicationEventPublisher events;
+    private final ObjectMapper objectMapper;
+
+    public AlbumService(IAlbumRepository albumRepository, IArtistRepository artistRepository,
+                        AlbumTotalsRepository albumTotalsRepository,
+                        ApplicationEventPublisher events, ObjectMapper objectMapper) {
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+        this.albumTotalsRepository = albumTotalsRepository;
+        this.events = events;
+        this.objectMapper = objectMapper;
+    }
+
+    // Served from the second-level cache, which is filled from the primary so a replica's lag isn't kept;
+    // the artist is initialized so the album serializes without a session
+    @Transactional(readOnly = true)
+    public Album getAlbumById(Integer id) {
+        return ReplicaRoutingDataSource.fromPrimary(() -> {
+            Album album = albumRepository.findById(id).orElse(null);
+            if (album != null) Hibernate.initialize(album.getArtist());
+            return album;
+        });
+    }
+
+    @Transactional
+    public Album createAlbum(Album album) {
+        Album saved = albumRepository.save(album);
+        events.publishEvent(CatalogChangedEvent.album(Action.CREATED, saved.getId(), artistId(saved)));
+        return saved;
+    }
+
+    @Transactional
+    public Album updateAlbum(Integer id, Album album) {
+        return updateAlbum(id, album, null);
+    }
+
+    /**
+     * Replaces every field of the album. A stale write is refused with 412:
+     * expectedVersion comes from If-Match, otherwise the body's own version
+     * (as sent back by clients that loaded the album) is used when present.
+     */
+    @Transactional
+    public Album updateAlbum(Integer id, Album album, Long expectedVersion) {
+        return albumRepository.findById(id).map(existingAlbum -> {
+            checkVersion(existingAlbum, expectedVersion != null ? expectedVersion : album.getVersion());
+            Integer previousArtistId = artistId(existingAlbum);
+
+            existingAlbum.setAlbumName(album.getAlbumName());
+            existingAlbum.setGenre(album.getGenre());
+            existingAlbum.setReleaseYear(album.getReleaseYear());
+            existingAlbum.setRating(album.getRating());
+            existingAlbum.setCoverURL(album.getCoverURL());
+            existingAlbum.setArtist(album.getArtist());
+            // Flushed so the returned version (the new ETag) is the one just written
+            Album saved = albumRepository.saveAndFlush(existingAlbum);
+
+            events.publishEvent(CatalogChangedEvent.album(Action.UPDATED, id, previousArtistId, artistId(saved)));
+            return saved;
+        }).orElseGet(() -> {
+            // Ids come from a sequence, so an unknown id creates a new album under a generated one
+            album.setId(null);
+            album.setVersion(null);
+            Album saved = albumRepository.save(album);
+
+            events.publishEvent(CatalogChangedEvent.album(Action.CREATED, saved.getId(), artistId(saved)));
+            return saved;
+        });
+    }
+
+    /**
+     * Applies only the fields present in {@code changes} (a JSON object; an
+     * explicit null clears the field). With {@code @DynamicUpdate} the UPDATE
+     * names just the columns that actually changed.
+     */
+    @Transactional
+    public Album patchAlbum(Integer id, JsonNode changes, Long expectedVersion) {
+        if (changes == null || !changes.isObject()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "PATCH body must be a JSON object");
+        }
+
+        Album album = albumRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "album " + id + " not found"));
+        checkVersion(album, expectedVersion);
+        Integer previousArtistId = artistId(album);
+
+        for (Map.Entry<String, JsonNode> change : changes.properties()) {
+            JsonNode value = change.getValue();
+            switch (change.getKey()) {
+                case "albumName" -> album.setAlbumName(patchValue(change, String.class));
+                case "releaseYear" -> album.setReleaseYear(patchValue(change, Integer.class));
+                case "releaseOrder" -> album.setReleaseOrder(patchValue(change, Integer.class));
+                case "genre" -> album.setGenre(patchValue(change, String.class));
+                case "rating" -> album.setRating(patchValue(change, Double.class));
+                case "coverURL" -> album.setCoverURL(patchValue(change, String.class));
+                case "artist" -> album.setArtist(artistRepository.findById(value.path("id").asInt())
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "artist.id must name an existing artist")));
+                // Read-only; a mismatching version is what If-Match is for
+                case "id", "version" -> {
+                }
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown album field " + change.getKey());
+            }
+        }
+
+        if (album.getAlbumName() == null || album.getAlbumName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "albumName cannot be empty");
+        }
+
+        Album saved = albumRepository.saveAndFlush(album);
+        events.publishEvent(CatalogChangedEvent.album(Action.UPDATED, id, previousArtistId, artistId(saved)));
+        return saved;
+    }
+
+    private <T> T patchValue(Map.Entry<String, JsonNode> change, Class<T> type) {
+        if (change.getValue().isNull()) return null;
+        try {
+            return objectMapper.treeToValue(change.getValue(), type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid value for " + change.getKey(), e);
+        }
+    }
+
+    private static void checkVersion(Album album, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(album.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "album " + album.getId() + " is at version " + album.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    @Transactional
+    public void deleteAlbum(Integer id) {
+        Integer artistId = albumRepository.findById(id).map(AlbumService::artistId).orElse(null);
+        albumRepository.deleteById(id);
+        events.publishEvent(CatalogChangedEvent.album(Action.DELETED, id, artistId));
+    }
+
+    // The first page also carries the totals, read in the same transaction as its rows
+    @Transactional(readOnly = true)
+    public AlbumPage searchAlbums(AlbumSearchCriteria criteria) {
+        AlbumSort sort = AlbumSort.from(criteria.sortBy());
+        boolean descending = "desc".equalsIgnoreCase(criteria.order());
+        int size = criteria.size() == null ? DEFAULT_PAGE_SIZE : Math.clamp(criteria.size(), 1, MAX_PAGE_SIZE);
+        List<Object> after = decodeCursor(criteria.cursor(), sort);
+
+        Specification<Album> spec = AlbumSpecifications.matching(criteria)
+                .and(AlbumSpecifications.orderedAfter(sort, descending, after));
+        AlbumPage.Totals totals = after == null
+                ? albumTotalsRepository.totals(AlbumSpecifications.matching(criteria))
+                : null;
+
+        // Fetch one extra row to know whether another page exists
+        List<Album> rows = albumRepository.findBy(spec, q -> q.limit(size + 1).all());
+
+        if (rows.size() <= size) {
+            return new AlbumPage(rows, null, totals);
+        }
+
+        List<Album> page = rows.subList(0, size);
+        return new AlbumPage(page, encodeCursor(AlbumSpecifications.cursorValues(sort, page.getLast())), totals);
+    }
+
+    private static Integer artistId(Album album) {
+        return album.getArtist() == null ? null : album.getArtist().getId();
+    }
+
+    /* =========================
+       CURSOR
+       ========================= */
+
+    private String encodeCursor(List<Object> values) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(values));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    private List<Object> decodeCursor(String cursor, AlbumSort sort) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        try {
+            List<?> raw = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), List.class);
+            List<Class<?>> types = AlbumSpecifications.cursorTypes(sort);
 
-    public AlbumService(IAlbumRepository albumRepository) { this.albumRepository = albumRepository; }
+            if (raw.size() != types.size()) {
+                throw new IllegalArgumentException("cursor does not match sort " + sort);
+            }
 
-    public List<Album> getAlbumsWithArtists() {
-        return albumRepository.findAllWithArtists();
+            List<Object> values = new ArrayList<>(raw.size());
+            for (int i = 0; i < raw.size(); i++) {
+                values.add(objectMapper.convertValue(raw.get(i), types.get(i)));
+            }
+            return values;
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
     }
-}
\ No newline at end of file
+}
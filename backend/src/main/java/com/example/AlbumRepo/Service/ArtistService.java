@@ -1,19 +1,204 @@
 package com.example.AlbumRepo.Service;
 
+import com.example.AlbumRepo.Config.ReplicaRoutingDataSource;
+import com.example.AlbumRepo.DTO.DiscographyRequest;
+import com.example.AlbumRepo.DTO.DiscographyRequest.AlbumEntry;
+import com.example.AlbumRepo.Entity.Album;
 import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
 import com.example.AlbumRepo.Repository.IArtistRepository;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class ArtistService {
     private final IArtistRepository artistRepository;
+    private final IAlbumRepository albumRepository;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Outcome of a discography upsert. Albums whose fields already matched are
+     * counted in none of the totals.
+     */
+    public record DiscographyResult(Artist artist, boolean artistCreated, int albumsCreated, int albumsUpdated,
+                                    int albumsDeleted) {
+    }
 
-    public ArtistService(IArtistRepository artistRepository) {
+    public ArtistService(IArtistRepository artistRepository, IAlbumRepository albumRepository,
+                         ApplicationEventPublisher events) {
         this.artistRepository = artistRepository;
+        this.albumRepository = albumRepository;
+        this.events = events;
+    }
+
+    // Served from the second-level cache, which is filled from the primary so a replica's lag isn't kept;
+    // albums are initialized so the artist serializes without a session
+    @Transactional(readOnly = true)
+    public Artist getArtistById(Integer id) {
+        return ReplicaRoutingDataSource.fromPrimary(() -> {
+            Artist artist = artistRepository.findById(id).orElse(null);
+            if (artist != null) Hibernate.initialize(artist.getAlbums());
+            return artist;
+        });
+    }
+
+    @Transactional
+    public Artist createArtist(Artist artist) {
+        Artist saved = artistRepository.save(artist);
+        events.publishEvent(CatalogChangedEvent.artist(Action.CREATED, saved.getId(), albumIds(saved)));
+        return saved;
+    }
+
+    @Transactional
+    public Artist updateArtist(Integer id, Artist artist) {
+        return artistRepository.findById(id).map(existingArtist -> {
+            existingArtist.setArtistName(artist.getArtistName());
+            existingArtist.setLetter(artist.getLetter());
+            Artist saved = artistRepository.save(existingArtist);
+
+            events.publishEvent(CatalogChangedEvent.artist(Action.UPDATED, id, albumIds(saved)));
+            return saved;
+        }).orElse(null);
+    }
+
+    @Transactional
+    public void deleteArtist(Integer id) {
+        List<Integer> albumIds = artistRepository.findById(id).map(ArtistService::albumIds).orElse(List.of());
+        artistRepository.deleteById(id);
+        events.publishEvent(CatalogChangedEvent.artist(Action.DELETED, id, albumIds));
+    }
+
+    /**
+     * Writes an artist and their whole discography in one transaction. The
+     * request is diffed against the stored albums, so unchanged rows are not
+     * written; new albums get pooled ids and are inserted as one JDBC batch.
+     * An unknown id creates a new artist (with a generated id).
+     */
+    @Transactional
+    public DiscographyResult replaceDiscography(Integer id, DiscographyRequest request) {
+        if (request.artistName() == null || request.artistName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "artistName is required");
+        }
+        List<AlbumEntry> entries = request.albums() == null ? List.of() : request.albums();
+
+        Artist artist = ReplicaRoutingDataSource.fromPrimary(() -> artistRepository.findById(id)).orElse(null);
+        boolean artistCreated = artist == null;
+        if (artistCreated) {
+            artist = new Artist();
+            artist.setAlbums(new ArrayList<>());
+        }
+        boolean artistChanged = !Objects.equals(artist.getArtistName(), request.artistName())
+                || !Objects.equals(artist.getLetter(), letterOf(request));
+        artist.setArtistName(request.artistName());
+        artist.setLetter(letterOf(request));
+        if (artistCreated) artist = artistRepository.save(artist);
+
+        // Existing albums by id, and by name for entries that don't carry one
+        Map<Integer, Album> byId = new LinkedHashMap<>();
+        Map<String, Album> byName = new HashMap<>();
+        for (Album album : artist.getAlbums()) {
+            byId.put(album.getId(), album);
+            if (album.getAlbumName() != null) byName.putIfAbsent(nameKey(album.getAlbumName()), album);
+        }
+
+        Set<Integer> kept = new HashSet<>();
+        List<Album> created = new ArrayList<>();
+        List<Integer> updated = new ArrayList<>();
+
+        for (AlbumEntry entry : entries) {
+            if (entry.albumName() == null || entry.albumName().isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "every album needs an albumName");
+            }
+
+            Album album;
+            if (entry.id() != null) {
+                album = byId.get(entry.id());
+                if (album == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "album " + entry.id() + " does not belong to artist " + artist.getId());
+                }
+            } else {
+                album = byName.get(nameKey(entry.albumName()));
+                if (album != null && kept.contains(album.getId())) album = null;
+            }
+
+            if (album == null) {
+                album = new Album();
+                album.setArtist(artist);
+                apply(album, entry);
+                artist.getAlbums().add(album);
+                created.add(album);
+                continue;
+            }
+
+            if (!kept.add(album.getId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "album " + album.getId() + " is listed twice");
+            }
+            if (apply(album, entry)) updated.add(album.getId());
+        }
+
+        List<Album> removed = artist.getAlbums().stream()
+                .filter(album -> album.getId() != null && !kept.contains(album.getId()))
+                .toList();
+        artist.getAlbums().removeAll(removed);
+
+        // Persisting assigns ids from the pooled sequence now; the inserts go out together at flush
+        albumRepository.saveAll(created);
+
+        Integer artistId = artist.getId();
+        removed.forEach(album -> events.publishEvent(CatalogChangedEvent.album(Action.DELETED, album.getId(), artistId)));
+        created.forEach(album -> events.publishEvent(CatalogChangedEvent.album(Action.CREATED, album.getId(), artistId)));
+        updated.forEach(albumId -> events.publishEvent(CatalogChangedEvent.album(Action.UPDATED, albumId, artistId)));
+        if (artistCreated || artistChanged) {
+            events.publishEvent(CatalogChangedEvent.artist(artistCreated ? Action.CREATED : Action.UPDATED, artistId, albumIds(artist)));
+        }
+
+        return new DiscographyResult(artist, artistCreated, created.size(), updated.size(), removed.size());
+    }
+
+    // Copies the entry onto the album, returning whether anything changed
+    private static boolean apply(Album album, AlbumEntry entry) {
+        boolean changed = !Objects.equals(album.getAlbumName(), entry.albumName())
+                || !Objects.equals(album.getReleaseYear(), entry.releaseYear())
+                || !Objects.equals(album.getReleaseOrder(), entry.releaseOrder())
+                || !Objects.equals(album.getGenre(), entry.genre())
+                || !Objects.equals(album.getRating(), entry.rating())
+                || !Objects.equals(album.getCoverURL(), entry.coverURL());
+        if (!changed) return false;
+
+        album.setAlbumName(entry.albumName());
+        album.setReleaseYear(entry.releaseYear());
+        album.setReleaseOrder(entry.releaseOrder());
+        album.setGenre(entry.genre());
+        album.setRating(entry.rating());
+        album.setCoverURL(entry.coverURL());
+        return true;
+    }
+
+    private static Character letterOf(DiscographyRequest request) {
+        return request.letter() != null ? request.letter() : Artist.toLetter(request.artistName());
+    }
+
+    private static String nameKey(String albumName) {
+        return albumName.trim().toLowerCase();
     }
 
-    public List<Artist> getArtistsWithAlbums() {
-        return artistRepository.findAllWithAlbums();
+    private static List<Integer> albumIds(Artist artist) {
+        return artist.getAlbums() == null ? List.of() : artist.getAlbums().stream().map(Album::getId).toList();
     }
-}
\ No newline at end of file
+}
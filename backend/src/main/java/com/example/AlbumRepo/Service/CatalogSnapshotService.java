@@ -0,0 +1,152 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Config.ReplicaRoutingDataSource;
+import com.example.AlbumRepo.DTO.ArtistSummary;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized {@code /api/albums} and {@code /api/artists} bodies in
+ * memory. Every committed catalog write bumps a version; a listing is rebuilt
+ * the first time it's requested after that, and served as-is until then.
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    /**
+     * A serialized listing. {@code etag} identifies the content, so it stays
+     * the same across rebuilds that produce identical bytes.
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzip, String etag) {
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private final SnapshotSlot albums;
+    private final SnapshotSlot artists;
+    private final ObjectMapper objectMapper;
+
+    public CatalogSnapshotService(
+            IAlbumRepository albumRepository,
+            IArtistRepository artistRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.objectMapper = objectMapper;
+
+        // Built from the primary: a snapshot is served until the next write, so
+        // one read from a lagging replica would hide the write that triggered it.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        this.albums = new SnapshotSlot("albums", () -> ReplicaRoutingDataSource.fromPrimary(
+                () -> readOnly.execute(status -> albumRepository.findAllSummaries())));
+        this.artists = new SnapshotSlot("artists", () -> ReplicaRoutingDataSource.fromPrimary(
+                () -> readOnly.execute(status -> ArtistSummary.group(artistRepository.findAllSummaryRows()))));
+    }
+
+    public Snapshot albums() {
+        return albums.current();
+    }
+
+    public Snapshot artists() {
+        return artists.current();
+    }
+
+    // Ahead of ChangeFeed: a client that takes the feed's cursor and then loads
+    // a snapshot must get one that already includes every change up to it
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /* =========================
+       BUILD
+       ========================= */
+
+    private final class SnapshotSlot {
+        private final String name;
+        private final Supplier<Object> loader;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Snapshot snapshot;
+
+        SnapshotSlot(String name, Supplier<Object> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        Snapshot current() {
+            Snapshot s = snapshot;
+            if (s != null && s.version() == version.get()) return s;
+
+            // Only one request rebuilds; the rest wait and reuse its result
+            lock.lock();
+            try {
+                long target = version.get();
+                s = snapshot;
+                if (s != null && s.version() == target) return s;
+
+                // Tagged with the version read before loading, so a write that
+                // lands mid-build just triggers another rebuild next time
+                snapshot = build(target);
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Snapshot build(long target) {
+            long started = System.nanoTime();
+
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(loader.get());
+                byte[] gzip = gzip(json);
+                Snapshot built = new Snapshot(target, json, gzip, etag(json));
+
+                logger.info("Rebuilt {} snapshot v{} ({} bytes, {} gzipped) in {} ms",
+                        name, target, json.length, gzip.length, (System.nanoTime() - started) / 1_000_000);
+                return built;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.DTO.CatalogRow;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Util.TextNormalizer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import and export of the catalog as CSV or newline-delimited JSON.
+ * Both directions stream: import commits every {@value #CHUNK_SIZE} rows,
+ * export writes rows as they come off a database cursor.
+ */
+@Service
+public class CatalogTransferService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogTransferService.class);
+
+    // A multiple of hibernate.jdbc.batch_size, so every chunk flushes as full batches
+    static final int CHUNK_SIZE = 500;
+
+    public enum Format {
+        CSV(MediaType.parseMediaType("text/csv")),
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) return format;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+
+        // Anything that isn't CSV is read as JSON values, one per line
+        public static Format of(MediaType contentType) {
+            return contentType != null && CSV.mediaType.isCompatibleWith(contentType) ? CSV : NDJSON;
+        }
+    }
+
+    /**
+     * Outcome of an import. Rows without an artist or album name are skipped.
+     */
+    public record ImportResult(int albumsCreated, int artistsCreated, int skipped) {
+    }
+
+    private final IAlbumRepository albumRepository;
+    private final IArtistRepository artistRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public CatalogTransferService(
+            IAlbumRepository albumRepository,
+            IArtistRepository artistRepository,
+            EntityManager entityManager,
+            ApplicationEventPublisher events,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+        this.entityManager = entityManager;
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /* =========================
+       IMPORT
+       ========================= */
+
+    public ImportResult importCatalog(InputStream in, Format format) throws IOException {
+        // Artist name -> id for everything resolved so far, so each name is looked up once per import
+        Map<String, Integer> artistIds = new HashMap<>();
+        List<CatalogRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int albums = 0;
+        int artists = 0;
+        int skipped = 0;
+
+        try (MappingIterator<CatalogRow> rows = reader(format).readValues(in)) {
+            while (rows.hasNextValue()) {
+                CatalogRow row = rows.nextValue();
+                if (isBlank(row.artistName()) || isBlank(row.albumName())) {
+                    skipped++;
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    artists += importChunk(chunk, artistIds);
+                    albums += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Malformed input at line " + e.getLocation().getLineNr() + " after importing " + albums + " albums", e);
+        }
+
+        artists += importChunk(chunk, artistIds);
+        albums += chunk.size();
+
+        logger.info("Imported {} albums ({} new artists, {} rows skipped)", albums, artists, skipped);
+        return new ImportResult(albums, artists, skipped);
+    }
+
+    // One transaction per chunk; returns the number of artists it created
+    private int importChunk(List<CatalogRow> chunk, Map<String, Integer> artistIds) {
+        if (chunk.isEmpty()) return 0;
+
+        Integer created = transactionTemplate.execute(status -> {
+            Set<Integer> newArtists = resolveArtists(chunk, artistIds);
+
+            List<Album> albums = new ArrayList<>(chunk.size());
+            for (CatalogRow row : chunk) {
+                Album album = new Album();
+                album.setArtist(artistRepository.getReferenceById(artistIds.get(artistKey(row.artistName()))));
+                album.setAlbumName(row.albumName().trim());
+                album.setReleaseYear(row.releaseYear());
+                album.setReleaseOrder(row.releaseOrder());
+                album.setGenre(row.genre());
+                album.setRating(row.rating());
+                album.setCoverURL(row.coverURL());
+                albums.add(album);
+            }
+            albumRepository.saveAll(albums);
+
+            // One event per artist touched rather than per album
+            Map<Integer, List<Integer>> byArtist = new LinkedHashMap<>();
+            for (Album album : albums) {
+                byArtist.computeIfAbsent(album.getArtist().getId(), id -> new ArrayList<>()).add(album.getId());
+            }
+            byArtist.forEach((artistId, albumIds) -> events.publishEvent(CatalogChangedEvent.artist(
+                    newArtists.contains(artistId) ? Action.CREATED : Action.UPDATED, artistId, albumIds)));
+
+            // Keep the persistence context from growing across chunks
+            entityManager.flush();
+            entityManager.clear();
+            return newArtists.size();
+        });
+        return created == null ? 0 : created;
+    }
+
+    // Finds the chunk's unknown artists in one query and creates the rest in one batch
+    private Set<Integer> resolveArtists(List<CatalogRow> chunk, Map<String, Integer> artistIds) {
+        Map<String, CatalogRow> missing = new LinkedHashMap<>();
+        for (CatalogRow row : chunk) {
+            String key = artistKey(row.artistName());
+            if (!artistIds.containsKey(key)) missing.putIfAbsent(key, row);
+        }
+        if (missing.isEmpty()) return Set.of();
+
+        List<String> names = missing.values().stream().map(row -> row.artistName().trim()).toList();
+        for (Artist artist : artistRepository.findByArtistNameIn(names)) {
+            String key = artistKey(artist.getArtistName());
+            artistIds.putIfAbsent(key, artist.getId());
+            missing.remove(key);
+        }
+
+        List<Artist> created = new ArrayList<>(missing.size());
+        missing.values().forEach(row -> {
+            String name = row.artistName().trim();
+            Artist artist = new Artist();
+            artist.setArtistName(name);
+            artist.setLetter(row.letter() != null ? row.letter() : Artist.toLetter(name));
+            created.add(artist);
+        });
+        artistRepository.saveAll(created);
+
+        Set<Integer> ids = new HashSet<>();
+        for (Artist artist : created) {
+            artistIds.put(artistKey(artist.getArtistName()), artist.getId());
+            ids.add(artist.getId());
+        }
+        return ids;
+    }
+
+    // Names compare like MySQL's accent- and case-insensitive collation, so "Bjork" finds "Björk"
+    private static String artistKey(String name) {
+        return TextNormalizer.fold(name.trim());
+    }
+
+    private ObjectReader reader(Format format) {
+        if (format == Format.CSV) {
+            return csvMapper.readerFor(CatalogRow.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+        return objectMapper.readerFor(CatalogRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /* =========================
+       EXPORT
+       ========================= */
+
+    public void exportCatalog(OutputStream out, Format format) {
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<CatalogRow> rows = albumRepository.streamCatalogRows()) {
+                if (format == Format.CSV) {
+                    writeCsv(rows, out);
+                } else {
+                    writeNdjson(rows, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsv(Stream<CatalogRow> rows, OutputStream out) throws IOException {
+        CsvSchema schema = csvMapper.schemaFor(CatalogRow.class).withHeader();
+        ObjectWriter csv = csvMapper.writer(schema).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (SequenceWriter writer = csv.writeValues(out)) {
+            for (CatalogRow row : (Iterable<CatalogRow>) rows::iterator) {
+                writer.write(row);
+            }
+        }
+    }
+
+    private void writeNdjson(Stream<CatalogRow> rows, OutputStream out) throws IOException {
+        // Let the response buffer decide when to send, rather than flushing per row
+        ObjectWriter json = objectMapper.writerFor(CatalogRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (CatalogRow row : (Iterable<CatalogRow>) rows::iterator) {
+                json.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
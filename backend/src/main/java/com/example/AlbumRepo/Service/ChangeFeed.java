@@ -0,0 +1,211 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.DTO.CatalogChange;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Numbers every committed catalog change and keeps the last
+ * {@value #CAPACITY} in memory, so clients can follow the catalog as a
+ * stream of deltas: live over Server-Sent Events, or by asking for
+ * everything after the last cursor they applied. Cursors carry the epoch
+ * (start time) of this run, since numbering restarts with it. One dispatcher
+ * thread delivers live changes in sequence order, so a slow client never
+ * holds up the transaction that committed the change.
+ */
+@Service
+public class ChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+    static final int CAPACITY = 1000;
+    private static final long HEARTBEAT_SECONDS = 30;
+    // Clients reconnect with Last-Event-ID when a stream times out
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(10);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CatalogChange> log = new ArrayDeque<>(CAPACITY);
+    private final BlockingQueue<CatalogChange> outbox = new LinkedBlockingQueue<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService heartbeat =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("change-feed-heartbeat").factory());
+    private final Thread dispatcher;
+    private final long epoch = System.currentTimeMillis();
+    private long latest;
+
+    // lastSent is only touched by the dispatcher once the subscriber is listed
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        long lastSent;
+
+        Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+    }
+
+    public ChangeFeed() {
+        dispatcher = Thread.ofVirtual().name("change-feed").start(this::dispatch);
+        heartbeat.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.interrupt();
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // Numbered last, once the snapshots have seen the change (see CatalogSnapshotService)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        CatalogChange change;
+        lock.lock();
+        try {
+            change = new CatalogChange(++latest, event.kind(), event.action(), event.id(), event.relatedIds(), Instant.now());
+            if (log.size() == CAPACITY) log.removeFirst();
+            log.addLast(change);
+            outbox.add(change);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* =========================
+       READING
+       ========================= */
+
+    // A null since reads the whole log of this run
+    public CatalogChange.Page changesSince(CatalogChange.Cursor since) {
+        lock.lock();
+        try {
+            return page(since == null ? new CatalogChange.Cursor(epoch, 0) : since);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a stream that first replays the changes after {@code since} (or
+     * sends a {@code reset} event when they are gone), then follows live
+     * ones. A null {@code since} starts from now.
+     */
+    public SseEmitter subscribe(CatalogChange.Cursor since) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, 0);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Sends before the handler returns are only buffered, so the replay is
+        // cheap under the lock; anything still queued for the dispatcher is
+        // skipped through lastSent
+        lock.lock();
+        try {
+            CatalogChange.Page missed = page(since == null ? new CatalogChange.Cursor(epoch, latest) : since);
+            if (missed.reset()) {
+                emitter.send(SseEmitter.event().name("reset").id(missed.latest()).data(missed.latest()));
+            }
+            for (CatalogChange change : missed.changes()) {
+                emitter.send(event(change));
+            }
+            subscriber.lastSent = latest;
+            subscribers.add(subscriber);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    // Caller holds the lock
+    private CatalogChange.Page page(CatalogChange.Cursor since) {
+        String cursor = cursor(latest);
+        long oldest = log.isEmpty() ? latest + 1 : log.getFirst().seq();
+        // Another epoch's numbers say nothing about this run's log
+        if (since.epoch() != epoch || since.seq() > latest || since.seq() < oldest - 1) {
+            return new CatalogChange.Page(cursor, true, List.of());
+        }
+
+        List<CatalogChange> changes = new ArrayList<>();
+        for (CatalogChange change : log) {
+            if (change.seq() > since.seq()) changes.add(change);
+        }
+        return new CatalogChange.Page(cursor, false, changes);
+    }
+
+    private String cursor(long seq) {
+        return new CatalogChange.Cursor(epoch, seq).toString();
+    }
+
+    /* =========================
+       SENDING
+       ========================= */
+
+    private void dispatch() {
+        try {
+            while (true) {
+                CatalogChange change = outbox.take();
+                for (Subscriber subscriber : subscribers) {
+                    if (change.seq() <= subscriber.lastSent) continue;
+                    try {
+                        subscriber.emitter.send(event(change));
+                        subscriber.lastSent = change.seq();
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container completes the emitter
+                        subscribers.remove(subscriber);
+                        logger.debug("Dropped change feed subscriber: {}", e.getMessage());
+                    } catch (RuntimeException e) {
+                        // Anything else (e.g. a conversion failure) only costs this
+                        // subscriber; the dispatcher has to keep serving the rest
+                        subscribers.remove(subscriber);
+                        subscriber.emitter.completeWithError(e);
+                        logger.warn("Dropped change feed subscriber after a failed send of change {}", change.seq(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder event(CatalogChange change) {
+        return SseEmitter.event()
+                .name("change")
+                .id(cursor(change.seq()))
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    // Keeps idle connections open through proxies and finds clients that left
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | RuntimeException e) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+}
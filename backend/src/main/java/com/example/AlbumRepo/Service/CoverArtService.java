@@ -1,79 +1,231 @@
 package com.example.AlbumRepo.Service;
 
+import com.example.AlbumRepo.Client.MusicBrainzClient;
+import com.example.AlbumRepo.Client.ProviderException;
+import com.example.AlbumRepo.Client.SpotifyClient;
+import com.example.AlbumRepo.Client.SpotifyTokenManager;
+import com.example.AlbumRepo.Config.CoverArtProperties;
 import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.CoverLookup.Provider;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
 import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Util.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 
 @Service
+@Lazy
 public class CoverArtService {
-    @Autowired
-    IAlbumRepository albumRepository;
+    private final IAlbumRepository albumRepository;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate transactionTemplate;
     private static final Logger logger = LoggerFactory.getLogger(CoverArtService.class);
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String SPOTIFY_CLIENT_ID;
-    private final String SPOTIFY_CLIENT_SECRET;
-    private static final String SPOTIFY_TOKEN_URL = "https://accounts.spotify.com/api/token";
-    private String spotifyAccessToken;
-    private long spotifyTokenExpiry = 0L;
+    private final CoverArtProperties properties;
+    private final CoverLookupCache lookupCache;
+    private final MeterRegistry meterRegistry;
+    private final SpotifyClient spotifyClient;
+    private final SpotifyTokenManager spotifyTokens;
+    private final MusicBrainzClient musicBrainzClient;
+
+    /**
+     * Outcome of a backfill run.
+     */
+    public record BackfillResult(int total, int updated, int missing) {
+    }
+
+    /**
+     * Receives backfill progress: the number of albums once the run starts,
+     * then one call per album as its lookup completes.
+     */
+    public interface BackfillListener {
+        BackfillListener NONE = new BackfillListener() {
+        };
+
+        default void started(int total) {
+        }
+
+        default void resolved(boolean found) {
+        }
+    }
+
+    // One lookup as it travels from a worker to the writer; cover is null on a miss
+    private record Resolution(Album album, String cover) {
+    }
 
     public CoverArtService(
             IAlbumRepository albumRepository,
-            @Value("${SPOTIFY_CLIENT_ID}") String spotifyClientId,
-            @Value("${SPOTIFY_CLIENT_SECRET}") String spotifyClientSecret
+            ApplicationEventPublisher events,
+            PlatformTransactionManager transactionManager,
+            CoverArtProperties properties,
+            CoverLookupCache lookupCache,
+            MeterRegistry meterRegistry,
+            SpotifyClient spotifyClient,
+            SpotifyTokenManager spotifyTokens,
+            MusicBrainzClient musicBrainzClient
     ) {
         this.albumRepository = albumRepository;
-        this.SPOTIFY_CLIENT_ID = spotifyClientId;
-        this.SPOTIFY_CLIENT_SECRET = spotifyClientSecret;
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.lookupCache = lookupCache;
+        this.meterRegistry = meterRegistry;
+        this.spotifyClient = spotifyClient;
+        this.spotifyTokens = spotifyTokens;
+        this.musicBrainzClient = musicBrainzClient;
     }
 
     /* =========================
        PUBLIC ENTRY POINT
        ========================= */
 
-    public void fetchCoversForAllAlbums() {
+    /**
+     * Looks up covers for every album without one. Lookups run on virtual
+     * threads, bounded by the backfill concurrency and each provider's rate
+     * limit, while the calling thread writes results back in batches.
+     */
+    public BackfillResult fetchCoversForAllAlbums() {
+        return fetchCoversForAllAlbums(BackfillListener.NONE);
+    }
+
+    public BackfillResult fetchCoversForAllAlbums(BackfillListener listener) {
         List<Album> albums = albumRepository.findAllWithoutCovers();
         logger.info("Albums missing covers: {}", albums.size());
+        listener.started(albums.size());
 
-        for (Album album : albums) {
+        BlockingQueue<Resolution> resolved = new LinkedBlockingQueue<>();
+        Semaphore inFlight = new Semaphore(properties.backfill().concurrency());
+        int updated = 0;
 
-            // Never overwrite a real cover
-            if (album.getCoverURL() != null &&
-                    !album.getCoverURL().isBlank() &&
-                    !album.getCoverURL().contains("default-cover")) {
-                continue;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Album album : albums) {
+                workers.submit(() -> resolved.add(resolve(album, inFlight)));
             }
 
-            String cover = fetchCoverArt(album.getArtist().getArtistName(), album.getAlbumName()
-            );
+            List<Resolution> batch = new ArrayList<>();
+            for (int i = 0; i < albums.size(); i++) {
+                Resolution resolution = resolved.take();
+                listener.resolved(resolution.cover() != null);
 
-            if (isValidCover(cover)) {
-                album.setCoverURL(cover);
-                albumRepository.save(album);
-                logger.info("Updated cover for {} - {}", album.getArtist().getArtistName(), album.getAlbumName());
-            } else {
-                logger.warn("No cover found for {} - {}", album.getArtist().getArtistName(), album.getAlbumName());
+                if (resolution.cover() == null) {
+                    logger.warn("No cover found for {} - {}", resolution.album().getArtist().getArtistName(), resolution.album().getAlbumName());
+                    continue;
+                }
+
+                batch.add(resolution);
+                if (batch.size() >= properties.backfill().batchSize()) {
+                    updated += saveCovers(batch);
+                    batch.clear();
+                }
             }
+            updated += saveCovers(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Cover backfill interrupted after {} updates", updated);
+        }
+
+        logger.info("Cover backfill finished: {} of {} albums updated", updated, albums.size());
+        return new BackfillResult(albums.size(), updated, albums.size() - updated);
+    }
 
-            try { Thread.sleep(1000); } catch (InterruptedException ignored) {}
+    /**
+     * Looks up and stores the cover of a single album unless it already has a
+     * real one. Returns whether the album ends up with a cover.
+     */
+    public boolean fetchCoverForAlbum(Integer albumId) {
+        // In a transaction, since an album from the second-level cache loads its artist lazily
+        Album album = transactionTemplate.execute(status -> {
+            Album found = albumRepository.findById(albumId).orElse(null);
+            if (found != null) Hibernate.initialize(found.getArtist());
+            return found;
+        });
+        if (album == null) return false;
+        if (isRealCover(album.getCoverURL())) return true;
+
+        String cover = fetchCoverArt(album.getArtist().getArtistName(), album.getAlbumName());
+        if (!isValidCover(cover)) {
+            logger.warn("No cover found for {} - {}", album.getArtist().getArtistName(), album.getAlbumName());
+            return false;
         }
+
+        return saveCovers(List.of(new Resolution(album, cover))) > 0;
+    }
+
+    private Resolution resolve(Album album, Semaphore inFlight) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Resolution(album, null);
+        }
+
+        try {
+            String cover = fetchCoverArt(album.getArtist().getArtistName(), album.getAlbumName());
+            return new Resolution(album, isValidCover(cover) ? cover : null);
+        } catch (Exception e) {
+            logger.warn("Cover lookup failed for album {}: {}", album.getId(), e.getMessage());
+            return new Resolution(album, null);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    // Reloads the batch in one query and lets the commit flush the updates as a JDBC batch
+    private int saveCovers(List<Resolution> batch) {
+        if (batch.isEmpty()) return 0;
+
+        Map<Integer, String> covers = new HashMap<>();
+        batch.forEach(r -> covers.put(r.album().getId(), r.cover()));
+
+        Integer count = transactionTemplate.execute(status -> {
+            List<Album> changed = new ArrayList<>();
+
+            for (Album album : albumRepository.findAllById(covers.keySet())) {
+                // Never overwrite a real cover set while the lookup was running
+                if (isRealCover(album.getCoverURL())) continue;
+
+                album.setCoverURL(covers.get(album.getId()));
+                changed.add(album);
+                events.publishEvent(CatalogChangedEvent.album(Action.UPDATED, album.getId(), album.getArtist().getId()));
+                logger.info("Updated cover for {} - {}", album.getArtist().getArtistName(), album.getAlbumName());
+            }
+
+            albumRepository.saveAll(changed);
+            return changed.size();
+        });
+        return count == null ? 0 : count;
     }
 
     public String fetchCoverArt(String artist, String album) {
         String artistNorm = norm(artist);
         String albumNorm = norm(album);
+        String artistKey = lookupKey(artist, artistNorm);
+        String albumKey = lookupKey(album, albumNorm);
 
         // ---- Spotify (exact only)
-        String cover = fetchFromSpotifyExact(artist, album, artistNorm, albumNorm);
+        String cover = lookup(Provider.SPOTIFY, artistKey, albumKey,
+                () -> fetchFromSpotifyExact(artist, album, artistNorm, albumNorm));
 
         if (isValidCover(cover)) {
             logger.info("Cover found via Spotify (exact match)");
@@ -81,7 +233,8 @@ public class CoverArtService {
         }
 
         // ---- MusicBrainz fallback
-        cover = fetchFromMusicBrainz(artist, album);
+        cover = lookup(Provider.MUSICBRAINZ, artistKey, albumKey,
+                () -> fetchFromMusicBrainz(artist, album));
 
         if (isValidCover(cover)) {
             logger.info("Cover found via MusicBrainz");
@@ -92,159 +245,128 @@ public class CoverArtService {
     }
 
     /* =========================
-       SPOTIFY (STRICT)
+       LOOKUP CACHE
        ========================= */
 
-    private String fetchFromSpotifyExact(String artistOriginal, String albumOriginal, String artistNorm, String albumNorm) {
-        ensureSpotifyToken();
-        if (spotifyAccessToken == null) return null;
-
-        String rawQuery = "album:\"" + albumOriginal + "\" artist:\"" + artistOriginal + "\"";
+    /**
+     * Answers from the lookup cache when it remembers this pair, otherwise asks
+     * the provider and remembers the outcome. Failures (as opposed to "no such
+     * album") are not remembered, so they are retried on the next run.
+     */
+    private String lookup(Provider provider, String artistKey, String albumKey, Callable<String> call) {
+        Optional<CoverLookupCache.Entry> remembered = lookupCache.find(provider, artistKey, albumKey);
+        if (remembered.isPresent()) return remembered.get().coverUrl();
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            String q = URLEncoder.encode(rawQuery, StandardCharsets.UTF_8);
-
-            String url =
-                    "https://api.spotify.com/v1/search" +
-                            "?q=" + q +
-                            "&type=album" +
-                            "&limit=10" +
-                            "&market=CA";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(spotifyAccessToken);
-
-            ResponseEntity<Map> resp =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            new HttpEntity<>(headers),
-                            Map.class
-                    );
-
-            Map albums = (Map) resp.getBody().get("albums");
-            List<Map<String, Object>> items = (List<Map<String, Object>>) albums.get("items");
-
-            if (items == null || items.isEmpty()) return null;
+            String cover = call.call();
 
-            for (Map<String, Object> item : items) {
-
-                String spAlbumNorm = norm((String) item.get("name"));
-
-                if (!spAlbumNorm.equals(albumNorm)) {
-                    continue;
-                }
-
-                List<Map<String, Object>> artists = (List<Map<String, Object>>) item.get("artists");
-
-                boolean artistExact =
-                        artists.stream()
-                                .anyMatch(a ->
-                                        norm((String) a.get("name"))
-                                                .equals(artistNorm));
-
-                if (!artistExact) {
-                    continue;
-                }
-
-                // EXACT MATCH FOUND
-                List<Map<String, Object>> images = (List<Map<String, Object>>) item.get("images");
-
-                if (images != null && !images.isEmpty()) {
-                    return images.get(0).get("url").toString();
-                }
+            if (isValidCover(cover)) {
+                sample.stop(providerTimer(provider, "hit"));
+                lookupCache.recordHit(provider, artistKey, albumKey, cover);
+                return cover;
             }
 
-            // No exact match → fail loudly
+            sample.stop(providerTimer(provider, "miss"));
+            lookupCache.recordMiss(provider, artistKey, albumKey);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
-
         } catch (Exception e) {
-            logger.warn("Spotify exact search failed: {}", e.getMessage());
+            sample.stop(providerTimer(provider, "error"));
+            providerErrors(provider.name().toLowerCase(), e).increment();
+            logger.warn("{} lookup failed: {}", provider, e.getMessage());
             return null;
         }
     }
 
+    private Timer providerTimer(Provider provider, String outcome) {
+        return Timer.builder("coverart.provider.requests")
+                .description("Cover provider lookups that went over the network")
+                .tag("provider", provider.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter providerErrors(String provider, Exception e) {
+        return Counter.builder("coverart.provider.errors")
+                .description("Failed cover provider calls, by exception type")
+                .tag("provider", provider)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    // norm() drops everything outside a-z0-9, which would collapse non-Latin names to ""
+    private String lookupKey(String original, String normalized) {
+        if (!normalized.isEmpty()) return normalized;
+        return original == null ? "" : original.trim().toLowerCase();
+    }
+
     /* =========================
-       MUSICBRAINZ
+       SPOTIFY (STRICT)
        ========================= */
 
-    private String fetchFromMusicBrainz(String artist, String album) {
-        try {
-            String q = "release:\"" + album + "\" AND artist:\"" + artist + "\"";
+    private String fetchFromSpotifyExact(String artistOriginal, String albumOriginal, String artistNorm, String albumNorm) throws IOException, InterruptedException {
+        String token = spotifyTokens.token();
 
-            String url =
-                    "https://musicbrainz.org/ws/2/release/" +
-                            "?query=" + URLEncoder.encode(q, StandardCharsets.UTF_8) +
-                            "&fmt=json&limit=1";
+        String rawQuery = "album:\"" + albumOriginal + "\" artist:\"" + artistOriginal + "\"";
+
+        List<SpotifyClient.AlbumItem> items;
+        try {
+            items = spotifyClient.searchAlbums(rawQuery, token);
+        } catch (ProviderException e) {
+            // Revoked or expired early: fetch a new token next time
+            if (e.getStatus() == 401) spotifyTokens.invalidate(token);
+            throw e;
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", "AlbumRepo/1.0 (jack@example.com)");
+        if (items.isEmpty()) return null;
 
-            ResponseEntity<Map> resp =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            new HttpEntity<>(headers),
-                            Map.class
-                    );
+        return findExactCover(items, artistNorm, albumNorm);
+    }
 
-            List<Map<String, Object>> releases = (List<Map<String, Object>>) resp.getBody().get("releases");
+    // First result whose album and one of whose artists match exactly after norm()
+    static String findExactCover(List<SpotifyClient.AlbumItem> items, String artistNorm, String albumNorm) {
+        for (SpotifyClient.AlbumItem item : items) {
 
-            if (releases == null || releases.isEmpty()) return null;
+            if (!TextNormalizer.norm(item.name()).equals(albumNorm)) {
+                continue;
+            }
 
-            String mbid = releases.get(0).get("id").toString();
+            boolean artistExact =
+                    item.artists() != null &&
+                            item.artists().stream()
+                                    .anyMatch(a -> TextNormalizer.norm(a.name()).equals(artistNorm));
 
-            return "https://coverartarchive.org/release/" + mbid + "/front";
+            if (!artistExact) {
+                continue;
+            }
 
-        } catch (Exception e) {
-            logger.warn("MusicBrainz lookup failed: {}", e.getMessage());
-            return null;
+            // EXACT MATCH FOUND
+            if (item.images() != null && !item.images().isEmpty()) {
+                return item.images().get(0).url();
+            }
         }
+
+        // No exact match → fail loudly
+        return null;
     }
 
     /* =========================
-       TOKEN
+       MUSICBRAINZ
        ========================= */
 
-    private synchronized void ensureSpotifyToken() {
-        if (spotifyAccessToken != null && System.currentTimeMillis() < spotifyTokenExpiry) {
-            return;
-        }
+    private String fetchFromMusicBrainz(String artist, String album) throws IOException, InterruptedException {
+        String q = "release:\"" + album + "\" AND artist:\"" + artist + "\"";
 
-        try {
-            String creds = SPOTIFY_CLIENT_ID + ":" + SPOTIFY_CLIENT_SECRET;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set(
-                    "Authorization",
-                    "Basic " + java.util.Base64.getEncoder()
-                            .encodeToString(
-                                    creds.getBytes(StandardCharsets.UTF_8))
-            );
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            HttpEntity<String> req = new HttpEntity<>("grant_type=client_credentials", headers);
-
-            ResponseEntity<Map> resp =
-                    restTemplate.postForEntity(
-                            SPOTIFY_TOKEN_URL,
-                            req,
-                            Map.class
-                    );
-
-            spotifyAccessToken = (String) resp.getBody().get("access_token");
-            Integer expiresIn = (Integer) resp.getBody().get("expires_in");
-            spotifyTokenExpiry =
-                    System.currentTimeMillis() +
-                            (expiresIn - 60) * 1000L;
-
-            logger.info("Spotify token refreshed");
+        List<MusicBrainzClient.Release> releases = musicBrainzClient.searchReleases(q, 1);
 
-        } catch (Exception e) {
-            logger.warn("Failed to refresh Spotify token: {}", e.getMessage());
-            spotifyAccessToken = null;
-            spotifyTokenExpiry = 0;
-        }
+        if (releases.isEmpty() || releases.get(0).id() == null) return null;
+
+        String mbid = releases.get(0).id();
+
+        return "https://coverartarchive.org/release/" + mbid + "/front";
     }
 
     /* =========================
@@ -255,10 +377,11 @@ public class CoverArtService {
         return url != null && !url.isBlank();
     }
 
+    private boolean isRealCover(String url) {
+        return isValidCover(url) && !url.contains("default-cover");
+    }
+
     private String norm(String s) {
-        return s == null ? "" :
-                s.toLowerCase()
-                        .replaceAll("[^a-z0-9]", "")
-                        .trim();
+        return TextNormalizer.norm(s);
     }
 }
\ No newline at end of file
@@ -0,0 +1,375 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps local copies of album covers. The original is downloaded once per
+ * cover URL; each configured size is derived from it on first request. Files
+ * are named after a hash of the cover URL, so a new cover never reuses a stale
+ * thumbnail.
+ * <p>
+ * Cover URLs are set by clients, so downloads only go to the configured cover
+ * hosts. Redirects are followed here rather than by the HTTP client, and each
+ * hop is checked against the same hosts.
+ */
+@Service
+@Lazy
+public class CoverImageService {
+    private static final Logger logger = LoggerFactory.getLogger(CoverImageService.class);
+    private static final int MAX_REDIRECTS = 5;
+    private static final Set<Integer> REDIRECTS = Set.of(301, 302, 303, 307, 308);
+
+    /**
+     * A thumbnail ready to be served. {@code etag} changes whenever the
+     * album's cover URL or the requested size does; {@code version} is the
+     * {@code v=} token the frontend puts in the cover's URL.
+     */
+    public record CoverFile(Path path, long length, String etag, String version) {
+    }
+
+    private final AlbumService albumService;
+    private final CoverArtProperties.Images properties;
+    private final HttpClient httpClient;
+
+    // Downloads and resizes in progress, so concurrent requests for the same file share one
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public CoverImageService(AlbumService albumService, CoverArtProperties properties,
+                             @Qualifier("coverDownloadHttpClient") HttpClient httpClient) {
+        this.albumService = albumService;
+        this.properties = properties.images();
+        this.httpClient = httpClient;
+    }
+
+    public CoverFile getCover(Integer albumId, Integer size) {
+        int edge = size == null ? properties.defaultSize() : size;
+        if (!properties.sizes().contains(edge)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be one of " + properties.sizes());
+        }
+
+        Album album = albumService.getAlbumById(albumId);
+        if (album == null || !isRealCover(album.getCoverURL())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no cover for album " + albumId);
+        }
+
+        String url = album.getCoverURL().trim();
+        String hash = hash(url);
+        Path dir = albumDir(albumId);
+        Path original = dir.resolve(hash + ".orig");
+        Path thumbnail = dir.resolve(hash + "-" + edge + ".jpg");
+
+        try {
+            produce(original, () -> download(url, dir, original));
+            produce(thumbnail, () -> resize(original, thumbnail, edge));
+            return new CoverFile(thumbnail, Files.size(thumbnail), "\"" + hash + "-" + edge + "\"", version(url));
+        } catch (IOException e) {
+            logger.warn("Cover for album {} unavailable: {}", albumId, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "cover for album " + albumId + " unavailable");
+        }
+    }
+
+    // Drop local copies once an album (or an artist with its albums) is gone
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.action() != Action.DELETED) return;
+
+        if (event.kind() == Kind.ALBUM) {
+            deleteAlbumDir(event.id());
+        } else {
+            event.relatedIds().forEach(this::deleteAlbumDir);
+        }
+    }
+
+    /* =========================
+       FILE PRODUCTION
+       ========================= */
+
+    private interface FileTask {
+        void run() throws IOException;
+    }
+
+    private void produce(Path target, FileTask task) throws IOException {
+        if (Files.exists(target)) return;
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(target, mine);
+        if (running != null) {
+            await(running);
+            return;
+        }
+
+        try {
+            if (!Files.exists(target)) task.run();
+            mine.complete(target);
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(target, mine);
+        }
+    }
+
+    private void await(CompletableFuture<Path> running) throws IOException {
+        try {
+            running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private void download(String url, Path dir, Path original) throws IOException {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("unsupported cover URL " + url, e);
+        }
+        checkAllowed(uri);
+
+        Files.createDirectories(dir);
+        // Files for the album's previous cover URL are no longer reachable
+        deleteOthers(dir, original.getFileName().toString().replace(".orig", ""));
+
+        HttpResponse<InputStream> response = fetch(uri);
+
+        long limit = properties.maxDownload().toBytes();
+        Path temp = Files.createTempFile(dir, "download", ".tmp");
+        try (InputStream in = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode() + " from " + url);
+            }
+
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                long copied = 0;
+                for (int n; (n = in.read(buffer)) != -1; ) {
+                    copied += n;
+                    if (copied > limit) throw new IOException("cover larger than " + properties.maxDownload());
+                    out.write(buffer, 0, n);
+                }
+            }
+            Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private HttpResponse<InputStream> fetch(URI uri) throws IOException {
+        for (int hop = 0; ; hop++) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(properties.fetchTimeout())
+                    .header("Accept", "image/*")
+                    .GET()
+                    .build();
+
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while fetching " + uri, e);
+            }
+
+            String location = response.headers().firstValue("Location").orElse(null);
+            if (!REDIRECTS.contains(response.statusCode()) || location == null) return response;
+
+            response.body().close();
+            if (hop == MAX_REDIRECTS) throw new IOException("too many redirects from " + uri);
+            try {
+                uri = uri.resolve(location);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("bad redirect from " + uri, e);
+            }
+            checkAllowed(uri);
+        }
+    }
+
+    // http(s) on one of the cover hosts or a subdomain of one
+    private void checkAllowed(URI uri) throws IOException {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        boolean allowed = (scheme.equals("http") || scheme.equals("https"))
+                && uri.getUserInfo() == null
+                && properties.allowedHosts().stream()
+                        .map(h -> h.toLowerCase(Locale.ROOT))
+                        .anyMatch(h -> host.equals(h) || host.endsWith("." + h));
+        if (!allowed) throw new IOException("cover host not allowed: " + uri);
+    }
+
+    private void resize(Path original, Path thumbnail, int edge) throws IOException {
+        BufferedImage source = read(original);
+
+        BufferedImage scaled = scale(source, edge);
+        Path temp = Files.createTempFile(thumbnail.getParent(), "resize", ".tmp");
+        try {
+            writeJpeg(scaled, temp);
+            Files.move(temp, thumbnail, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Checks the header's dimensions first, so a small file that decodes to a huge image is refused
+    private BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) throw new IOException("unreadable image " + original.getFileName());
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.maxPixels()) {
+                    throw new IOException("image " + original.getFileName() + " has " + pixels + " pixels, over " + properties.maxPixels());
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Fits the image inside edge x edge, halving in steps so large originals don't alias
+    private BufferedImage scale(BufferedImage source, int edge) {
+        double ratio = Math.min(1.0, (double) edge / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            current = draw(current, w, h);
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        // JPEG has no alpha, so transparent covers get a white background
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(0.85f);
+
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /* =========================
+       HELPERS
+       ========================= */
+
+    private Path albumDir(Integer albumId) {
+        return properties.storageDir().resolve(String.valueOf(albumId));
+    }
+
+    private void deleteAlbumDir(Integer albumId) {
+        try {
+            FileSystemUtils.deleteRecursively(albumDir(albumId));
+        } catch (IOException e) {
+            logger.warn("Could not delete covers for album {}: {}", albumId, e.getMessage());
+        }
+    }
+
+    private void deleteOthers(Path dir, String keepPrefix) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(keepPrefix) && !name.endsWith(".tmp")) Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private boolean isRealCover(String url) {
+        return url != null && !url.isBlank() && !url.contains("default-cover");
+    }
+
+    // Same token as coverVersion() in the frontend's coverUrl.ts: FNV-1a over the UTF-16 units, base 36
+    public static String version(String url) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < url.length(); i++) {
+            hash ^= url.charAt(i);
+            hash *= 0x01000193;
+        }
+        return Long.toString(Integer.toUnsignedLong(hash), 36);
+    }
+
+    private static String hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.example.AlbumRepo.Entity.CoverLookup;
+import com.example.AlbumRepo.Entity.CoverLookup.Provider;
+import com.example.AlbumRepo.Repository.ICoverLookupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers what each provider answered for an artist/album pair, misses
+ * included. Entries live in the CoverLookups table and are mirrored in memory,
+ * so checking before a network call is a map lookup. Each repeat miss doubles
+ * how long the miss is trusted, up to the provider's cap.
+ */
+@Component
+@Lazy
+public class CoverLookupCache {
+    private static final Logger logger = LoggerFactory.getLogger(CoverLookupCache.class);
+
+    /**
+     * A remembered answer; {@code coverUrl} is null for a miss.
+     */
+    public record Entry(Integer id, String coverUrl, int misses, Instant expiresAt) {
+    }
+
+    private record Key(Provider provider, String artistKey, String albumKey) {
+    }
+
+    private final ICoverLookupRepository lookupRepository;
+    private final Map<Provider, CoverArtProperties.LookupTtl> ttls = new EnumMap<>(Provider.class);
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public CoverLookupCache(ICoverLookupRepository lookupRepository, CoverArtProperties properties, MeterRegistry meterRegistry) {
+        this.lookupRepository = lookupRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttls.put(Provider.SPOTIFY, properties.spotify().lookupTtl());
+        this.ttls.put(Provider.MUSICBRAINZ, properties.musicbrainz().lookupTtl());
+    }
+
+    @PostConstruct
+    void load() {
+        for (CoverLookup lookup : lookupRepository.findAll()) {
+            entries.put(new Key(lookup.getProvider(), lookup.getArtistKey(), lookup.getAlbumKey()), toEntry(lookup));
+        }
+        logger.info("Loaded {} remembered cover lookups", entries.size());
+    }
+
+    /**
+     * The remembered answer if it hasn't expired yet.
+     */
+    public Optional<Entry> find(Provider provider, String artistKey, String albumKey) {
+        Entry entry = entries.get(new Key(provider, artistKey, albumKey));
+        boolean fresh = entry != null && Instant.now().isBefore(entry.expiresAt());
+
+        counter(provider, entry == null ? "absent" : !fresh ? "expired" : entry.coverUrl() != null ? "hit" : "miss").increment();
+        return fresh ? Optional.of(entry) : Optional.empty();
+    }
+
+    public void recordHit(Provider provider, String artistKey, String albumKey, String coverUrl) {
+        record(provider, artistKey, albumKey, coverUrl);
+    }
+
+    public void recordMiss(Provider provider, String artistKey, String albumKey) {
+        record(provider, artistKey, albumKey, null);
+    }
+
+    /* =========================
+       STORAGE
+       ========================= */
+
+    private void record(Provider provider, String artistKey, String albumKey, String coverUrl) {
+        Key key = new Key(provider, artistKey, albumKey);
+        CoverArtProperties.LookupTtl ttl = ttls.get(provider);
+        Instant now = Instant.now();
+
+        Entry updated = entries.compute(key, (k, previous) -> {
+            Integer id = previous == null ? null : previous.id();
+            if (coverUrl != null) {
+                return new Entry(id, coverUrl, 0, now.plus(ttl.hit()));
+            }
+
+            int misses = previous == null ? 1 : previous.misses() + 1;
+            return new Entry(id, null, misses, now.plus(backoff(ttl, misses)));
+        });
+
+        CoverLookup lookup = new CoverLookup();
+        lookup.setId(updated.id());
+        lookup.setProvider(provider);
+        lookup.setArtistKey(artistKey);
+        lookup.setAlbumKey(albumKey);
+        lookup.setCoverURL(updated.coverUrl());
+        lookup.setMisses(updated.misses());
+        lookup.setCheckedAt(now);
+        lookup.setExpiresAt(updated.expiresAt());
+
+        try {
+            CoverLookup saved = lookupRepository.save(lookup);
+            entries.computeIfPresent(key, (k, e) -> e.id() == null ? new Entry(saved.getId(), e.coverUrl(), e.misses(), e.expiresAt()) : e);
+        } catch (DataIntegrityViolationException e) {
+            // Another worker inserted the same pair first; the in-memory entry is already current
+            logger.debug("Concurrent insert of cover lookup {}", key);
+        }
+    }
+
+    private static Duration backoff(CoverArtProperties.LookupTtl ttl, int misses) {
+        Duration ttlForMiss = ttl.miss().multipliedBy(1L << Math.min(misses - 1, 20));
+        return ttlForMiss.compareTo(ttl.maxMiss()) > 0 ? ttl.maxMiss() : ttlForMiss;
+    }
+
+    private static Entry toEntry(CoverLookup lookup) {
+        return new Entry(lookup.getId(), lookup.getCoverURL(), lookup.getMisses(), lookup.getExpiresAt());
+    }
+
+    private Counter counter(Provider provider, String result) {
+        return Counter.builder("coverart.lookup.cache")
+                .description("Remembered cover lookups consulted before calling a provider")
+                .tag("provider", provider.name().toLowerCase())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
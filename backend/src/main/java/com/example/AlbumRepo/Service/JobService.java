@@ -0,0 +1,166 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Entity.Job;
+import com.example.AlbumRepo.Repository.IJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs cover lookups in the background. Every job is a row in the Jobs table
+ * first, so work that was queued or running when the application stopped is
+ * started again on the next boot.
+ */
+@Service
+public class JobService {
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+    private static final Set<Job.Status> ACTIVE = EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING);
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(1);
+
+    private final IJobRepository jobRepository;
+    private final CoverArtService coverArtService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    public JobService(IJobRepository jobRepository, @Lazy CoverArtService coverArtService) {
+        this.jobRepository = jobRepository;
+        this.coverArtService = coverArtService;
+    }
+
+    public Optional<Job> getJob(Integer id) {
+        return jobRepository.findById(id);
+    }
+
+    // A backfill already covers every album missing a cover, so there is never more than one
+    public Job submitCoverBackfill() {
+        submitLock.lock();
+        try {
+            return jobRepository.findFirstByTypeAndStatusIn(Job.Type.COVER_BACKFILL, ACTIVE)
+                    .orElseGet(() -> enqueue(newJob(Job.Type.COVER_BACKFILL, null)));
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    public Job submitAlbumCover(Integer albumId) {
+        return enqueue(newJob(Job.Type.ALBUM_COVER, albumId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<Job> pending = jobRepository.findByStatusInOrderById(ACTIVE);
+        if (pending.isEmpty()) return;
+
+        logger.info("Resuming {} unfinished jobs", pending.size());
+        pending.forEach(job -> executor.submit(() -> run(job.getId())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /* =========================
+       EXECUTION
+       ========================= */
+
+    private Job newJob(Job.Type type, Integer albumId) {
+        Job job = new Job();
+        job.setType(type);
+        job.setStatus(Job.Status.QUEUED);
+        job.setAlbumId(albumId);
+        job.setCreatedAt(Instant.now());
+        return job;
+    }
+
+    private Job enqueue(Job job) {
+        Job saved = jobRepository.save(job);
+        executor.submit(() -> run(saved.getId()));
+        return saved;
+    }
+
+    private void run(Integer id) {
+        Job job = jobRepository.findById(id).orElse(null);
+        if (job == null || !ACTIVE.contains(job.getStatus())) return;
+
+        // A resumed job starts over; its work is idempotent
+        job.setStatus(Job.Status.RUNNING);
+        job.setStartedAt(Instant.now());
+        job.setTotal(0);
+        job.setSucceeded(0);
+        job.setFailed(0);
+        ProgressRecorder progress = new ProgressRecorder(jobRepository.save(job));
+
+        try {
+            switch (job.getType()) {
+                case COVER_BACKFILL -> coverArtService.fetchCoversForAllAlbums(progress);
+                case ALBUM_COVER -> {
+                    progress.started(1);
+                    progress.resolved(coverArtService.fetchCoverForAlbum(job.getAlbumId()));
+                }
+            }
+
+            // Stopped by shutdown: leave it queued for the next boot
+            progress.finish(Thread.currentThread().isInterrupted() ? Job.Status.QUEUED : Job.Status.COMPLETED, null);
+        } catch (Exception e) {
+            logger.warn("Job {} failed: {}", id, e.getMessage());
+            progress.finish(Job.Status.FAILED, e.getMessage());
+        }
+    }
+
+    // Counts progress on the job and writes it back at most once per interval
+    private final class ProgressRecorder implements CoverArtService.BackfillListener {
+        private Job job;
+        private Instant lastSaved = Instant.now();
+
+        ProgressRecorder(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public void started(int total) {
+            job.setTotal(total);
+            job = jobRepository.save(job);
+        }
+
+        @Override
+        public void resolved(boolean found) {
+            if (found) {
+                job.setSucceeded(job.getSucceeded() + 1);
+            } else {
+                job.setFailed(job.getFailed() + 1);
+            }
+
+            if (Instant.now().isAfter(lastSaved.plus(PROGRESS_INTERVAL))) {
+                job = jobRepository.save(job);
+                lastSaved = Instant.now();
+            }
+        }
+
+        void finish(Job.Status status, String error) {
+            job.setStatus(status);
+            job.setError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)));
+            job.setFinishedAt(status == Job.Status.QUEUED ? null : Instant.now());
+
+            try {
+                job = jobRepository.save(job);
+            } catch (Exception e) {
+                logger.warn("Could not record final state of job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+}
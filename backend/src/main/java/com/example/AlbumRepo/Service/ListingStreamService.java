@@ -0,0 +1,151 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.DTO.ArtistSummary;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The album and artist listings written straight off a database cursor, for
+ * clients that ask for NDJSON or CBOR rather than the JSON snapshot. Memory
+ * per request stays flat however large the catalog is, and the first rows
+ * are sent as soon as the query returns them.
+ */
+@Service
+public class ListingStreamService {
+
+    public enum Encoding {
+        // One JSON object per line
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        // One indefinite-length CBOR array
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        private final MediaType mediaType;
+
+        Encoding(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        // The client's most preferred of the two, or null when it asked for neither by name
+        public static Encoding negotiate(String accept) {
+            if (accept == null || accept.isBlank()) return null;
+
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                if (type.isWildcardType() || type.isWildcardSubtype()) continue;
+                for (Encoding encoding : values()) {
+                    if (encoding.mediaType.isCompatibleWith(type)) return encoding;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final IAlbumRepository albumRepository;
+    private final IArtistRepository artistRepository;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+
+    public ListingStreamService(IAlbumRepository albumRepository, IArtistRepository artistRepository,
+                                PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.json = objectMapper;
+        this.cbor = objectMapper.copyWith(new CBORFactory());
+    }
+
+    public void writeAlbums(OutputStream out, Encoding encoding) {
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<AlbumSummary> rows = albumRepository.streamAllSummaries();
+                 ListingWriter writer = new ListingWriter(out, encoding, AlbumSummary.class)) {
+                for (Iterator<AlbumSummary> it = rows.iterator(); it.hasNext(); ) {
+                    writer.write(it.next());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void writeArtists(OutputStream out, Encoding encoding) {
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<ArtistSummary.Row> rows = artistRepository.streamAllSummaryRows();
+                 ListingWriter writer = new ListingWriter(out, encoding, ArtistSummary.class)) {
+                ArtistSummary.group(rows.iterator(), writer::writeUnchecked);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private final class ListingWriter implements AutoCloseable {
+        private final Encoding encoding;
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private boolean first = true;
+
+        ListingWriter(OutputStream out, Encoding encoding, Class<?> type) throws IOException {
+            ObjectMapper mapper = encoding == Encoding.CBOR ? cbor : json;
+            this.encoding = encoding;
+            this.generator = mapper.getFactory().createGenerator(out);
+            // Let the response buffer decide when to send, rather than flushing per row
+            this.writer = mapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+            if (encoding == Encoding.CBOR) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+        }
+
+        void write(Object row) throws IOException {
+            writer.writeValue(generator, row);
+            if (encoding == Encoding.NDJSON) generator.writeRaw('\n');
+
+            // Push the headers and first row out now instead of when the buffer fills
+            if (first) {
+                generator.flush();
+                first = false;
+            }
+        }
+
+        void writeUnchecked(Object row) {
+            try {
+                write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (encoding == Encoding.CBOR) generator.writeEndArray();
+            generator.close();
+        }
+    }
+}
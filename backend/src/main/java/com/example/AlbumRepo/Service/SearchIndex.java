@@ -0,0 +1,360 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Config.ReplicaRoutingDataSource;
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.DTO.ArtistSummary;
+import com.example.AlbumRepo.DTO.SearchHit;
+import com.example.AlbumRepo.DTO.SearchHit.Type;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Util.TextNormalizer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over artist names, album titles and genres.
+ * Terms are folded with {@link TextNormalizer}; every query word must match
+ * a document term exactly, as a prefix, or within a small edit distance.
+ * Built on first use (the first search or catalog write, not at startup) and
+ * patched from catalog events after each commit.
+ */
+@Service
+@Lazy
+public class SearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // How well a query word matched a term...
+    private static final double EXACT = 3;
+    private static final double PREFIX = 2;
+    private static final double FUZZY = 1;
+    // ...scaled by where the term came from: the hit's own name, or its context (artist, genre, year)
+    private static final double NAME = 1.0;
+    private static final double CONTEXT = 0.5;
+
+    private record Doc(SearchHit hit, Map<String, Double> terms) {
+    }
+
+    private final IAlbumRepository albumRepository;
+    private final IArtistRepository artistRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Doc> docs = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final NavigableSet<String> terms = new TreeSet<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    // Genre docs exist while at least one album carries the genre
+    private final Map<Integer, String> albumGenres = new HashMap<>();
+    private final Map<String, Integer> genreCounts = new HashMap<>();
+
+    public SearchIndex(IAlbumRepository albumRepository, IArtistRepository artistRepository) {
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        long started = System.nanoTime();
+        List<AlbumSummary> albums = ReplicaRoutingDataSource.fromPrimary(albumRepository::findAllSummaries);
+        List<ArtistSummary> artists = ArtistSummary.group(ReplicaRoutingDataSource.fromPrimary(artistRepository::findAllSummaryRows));
+
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            terms.clear();
+            trigrams.clear();
+            albumGenres.clear();
+            genreCounts.clear();
+
+            artists.forEach(a -> putArtist(a.id(), a.artistName()));
+            albums.forEach(this::putAlbum);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Search index built: {} documents, {} terms in {} ms",
+                docs.size(), terms.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /* =========================
+       QUERY
+       ========================= */
+
+    public List<SearchHit> search(String query, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        List<String> words = TextNormalizer.tokens(query);
+        if (words.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+
+            for (String word : words) {
+                Map<String, Double> wordScores = new HashMap<>();
+                matchTerms(word).forEach((term, match) -> {
+                    for (String key : postings.get(term)) {
+                        wordScores.merge(key, match * docs.get(key).terms().get(term), Math::max);
+                    }
+                });
+
+                // Every word has to match somewhere in the document
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((key, score) -> score + wordScores.get(key));
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+
+            return scores.entrySet().stream()
+                    .map(e -> docs.get(e.getKey()).hit().withScore(e.getValue()))
+                    .sorted(Comparator.comparingDouble(SearchHit::score).reversed()
+                            .thenComparing(SearchHit::type)
+                            .thenComparing(hit -> hit.name().length())
+                            .thenComparing(SearchHit::name))
+                    .limit(size)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Term -> best match quality for one query word
+    private Map<String, Double> matchTerms(String word) {
+        Map<String, Double> matches = new HashMap<>();
+
+        for (String term : terms.subSet(word, true, word + Character.MAX_VALUE, false)) {
+            matches.put(term, term.equals(word) ? EXACT : PREFIX);
+        }
+
+        if (word.length() < 3) return matches;
+
+        // A term within maxEdits of the word shares all but 3 * maxEdits of its trigrams
+        int maxEdits = word.length() <= 4 ? 1 : 2;
+        List<String> grams = trigramsOf(word);
+        int needed = Math.max(1, grams.size() - 3 * maxEdits);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String term : trigrams.getOrDefault(gram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        shared.forEach((term, count) -> {
+            if (count < needed || matches.containsKey(term)) return;
+            if (Math.abs(term.length() - word.length()) > maxEdits) return;
+
+            int distance = editDistance(word, term, maxEdits);
+            if (distance <= maxEdits) matches.put(term, FUZZY / distance);
+        });
+        return matches;
+    }
+
+    /* =========================
+       UPDATES
+       ========================= */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.kind() == Kind.ALBUM) {
+            if (event.action() == Action.DELETED) {
+                removeAlbums(List.of(event.id()));
+            } else {
+                refreshAlbums(List.of(event.id()));
+            }
+            return;
+        }
+
+        // Album docs carry the artist's name, so they're refreshed along with it
+        if (event.action() == Action.DELETED) {
+            write(() -> remove(key(Type.ARTIST, event.id())));
+            removeAlbums(event.relatedIds());
+        } else {
+            Artist artist = ReplicaRoutingDataSource.fromPrimary(() -> artistRepository.findById(event.id())).orElse(null);
+            write(() -> {
+                if (artist == null) remove(key(Type.ARTIST, event.id()));
+                else putArtist(artist.getId(), artist.getArtistName());
+            });
+            refreshAlbums(event.relatedIds());
+        }
+    }
+
+    private void refreshAlbums(Collection<Integer> ids) {
+        if (ids.isEmpty()) return;
+
+        List<AlbumSummary> albums = ReplicaRoutingDataSource.fromPrimary(() -> albumRepository.findSummariesByIdIn(ids));
+        Set<Integer> gone = new HashSet<>(ids);
+        albums.forEach(album -> gone.remove(album.id()));
+
+        write(() -> {
+            albums.forEach(this::putAlbum);
+            gone.forEach(this::removeAlbum);
+        });
+    }
+
+    private void removeAlbums(Collection<Integer> ids) {
+        write(() -> ids.forEach(this::removeAlbum));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* =========================
+       DOCUMENTS (write lock held)
+       ========================= */
+
+    private void putArtist(Integer id, String name) {
+        Map<String, Double> docTerms = new HashMap<>();
+        addTerms(docTerms, name, NAME);
+        put(key(Type.ARTIST, id), new SearchHit(Type.ARTIST, id, name, null, null, null, null, 0), docTerms);
+    }
+
+    private void putAlbum(AlbumSummary album) {
+        Map<String, Double> docTerms = new HashMap<>();
+        addTerms(docTerms, album.albumName(), NAME);
+        addTerms(docTerms, album.artist().artistName(), CONTEXT);
+        addTerms(docTerms, album.genre(), CONTEXT);
+        if (album.releaseYear() != null) addTerms(docTerms, album.releaseYear().toString(), CONTEXT);
+
+        put(key(Type.ALBUM, album.id()), new SearchHit(Type.ALBUM, album.id(), album.albumName(),
+                album.artist().id(), album.artist().artistName(), album.releaseYear(), album.coverURL(), 0), docTerms);
+        setGenre(album.id(), album.genre());
+    }
+
+    private void removeAlbum(Integer id) {
+        remove(key(Type.ALBUM, id));
+        setGenre(id, null);
+    }
+
+    private void setGenre(Integer albumId, String genre) {
+        String name = genre == null || genre.isBlank() ? null : genre.trim();
+        String previous = name == null ? albumGenres.remove(albumId) : albumGenres.put(albumId, name);
+        if (previous != null && previous.equals(name)) return;
+
+        if (previous != null && genreCounts.merge(genreKey(previous), -1, Integer::sum) == 0) {
+            genreCounts.remove(genreKey(previous));
+            remove(key(Type.GENRE, genreKey(previous)));
+        }
+        if (name != null && genreCounts.merge(genreKey(name), 1, Integer::sum) == 1) {
+            Map<String, Double> docTerms = new HashMap<>();
+            addTerms(docTerms, name, NAME);
+            put(key(Type.GENRE, genreKey(name)), new SearchHit(Type.GENRE, null, name, null, null, null, null, 0), docTerms);
+        }
+    }
+
+    private void put(String key, SearchHit hit, Map<String, Double> docTerms) {
+        remove(key);
+        docs.put(key, new Doc(hit, docTerms));
+
+        for (String term : docTerms.keySet()) {
+            Set<String> keys = postings.computeIfAbsent(term, t -> new LinkedHashSet<>());
+            if (keys.isEmpty()) {
+                terms.add(term);
+                trigramsOf(term).forEach(gram -> trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(term));
+            }
+            keys.add(key);
+        }
+    }
+
+    private void remove(String key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) return;
+
+        for (String term : doc.terms().keySet()) {
+            Set<String> keys = postings.get(term);
+            keys.remove(key);
+            if (!keys.isEmpty()) continue;
+
+            postings.remove(term);
+            terms.remove(term);
+            for (String gram : trigramsOf(term)) {
+                Set<String> grams = trigrams.get(gram);
+                grams.remove(term);
+                if (grams.isEmpty()) trigrams.remove(gram);
+            }
+        }
+    }
+
+    /* =========================
+       HELPERS
+       ========================= */
+
+    private static void addTerms(Map<String, Double> docTerms, String text, double weight) {
+        for (String token : TextNormalizer.tokens(text)) {
+            docTerms.merge(token, weight, Math::max);
+        }
+    }
+
+    private static String key(Type type, Object id) {
+        return type + ":" + id;
+    }
+
+    private static String genreKey(String genre) {
+        return TextNormalizer.fold(genre);
+    }
+
+    // Padded so the first and last letters count as much as the middle ones
+    private static List<String> trigramsOf(String term) {
+        String padded = "  " + term + " ";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Levenshtein distance, giving up (returning max + 1) once it must exceed max
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) return max + 1;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Config.ReplicaRoutingDataSource;
+import com.example.AlbumRepo.DTO.AlbumSummary;
+import com.example.AlbumRepo.DTO.ArtistSummary;
+import com.example.AlbumRepo.DTO.CatalogStats;
+import com.example.AlbumRepo.DTO.CatalogStats.ArtistStats;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Event.CatalogChangedEvent;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running catalog aggregates for {@code GET /api/stats}. Each album's
+ * contribution is remembered, so a write subtracts the old facts and adds
+ * the new ones instead of recounting the catalog. The first count happens when
+ * the stats are first asked for or the catalog first changes.
+ */
+@Service
+@Lazy
+public class StatsService {
+    private static final Logger logger = LoggerFactory.getLogger(StatsService.class);
+
+    // What one album contributes to the totals
+    private record AlbumFacts(Integer artistId, String genre, String decade, String ratingBucket, Double rating) {
+    }
+
+    private static final class ArtistTotals {
+        String name;
+        Character letter;
+        long albums;
+        long rated;
+        double ratingSum;
+    }
+
+    private final IAlbumRepository albumRepository;
+    private final IArtistRepository artistRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, AlbumFacts> albums = new HashMap<>();
+    private final Map<Integer, ArtistTotals> artists = new HashMap<>();
+    private final Map<String, Long> albumsByLetter = new HashMap<>();
+    private final Map<String, Long> artistsByLetter = new HashMap<>();
+    private final Map<String, Long> albumsByGenre = new HashMap<>();
+    private final Map<String, Long> albumsByDecade = new HashMap<>();
+    private final Map<String, Long> albumsByRating = new HashMap<>();
+    private long rated;
+    private double ratingSum;
+
+    public StatsService(IAlbumRepository albumRepository, IArtistRepository artistRepository) {
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        long started = System.nanoTime();
+        List<ArtistSummary> artistRows = ArtistSummary.group(ReplicaRoutingDataSource.fromPrimary(artistRepository::findAllSummaryRows));
+        List<AlbumSummary> albumRows = ReplicaRoutingDataSource.fromPrimary(albumRepository::findAllSummaries);
+
+        lock.lock();
+        try {
+            artistRows.forEach(a -> putArtist(a.id(), a.artistName(), a.letter()));
+            albumRows.forEach(this::putAlbum);
+        } finally {
+            lock.unlock();
+        }
+
+        logger.info("Catalog stats built for {} albums in {} ms", albums.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public CatalogStats getStats() {
+        lock.lock();
+        try {
+            List<ArtistStats> perArtist = new ArrayList<>(artists.size());
+            artists.forEach((id, totals) -> perArtist.add(new ArtistStats(id, totals.name, totals.letter,
+                    totals.albums, totals.rated, average(totals.ratingSum, totals.rated))));
+            perArtist.sort(Comparator.comparing(ArtistStats::id));
+
+            return new CatalogStats(albums.size(), artists.size(), rated, average(ratingSum, rated),
+                    new TreeMap<>(albumsByLetter), new TreeMap<>(artistsByLetter), new TreeMap<>(albumsByGenre),
+                    new TreeMap<>(albumsByDecade), new TreeMap<>(albumsByRating), perArtist);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* =========================
+       UPDATES
+       ========================= */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.kind() == Kind.ALBUM) {
+            if (event.action() == Action.DELETED) {
+                locked(() -> removeAlbum(event.id()));
+            } else {
+                refreshAlbums(List.of(event.id()));
+            }
+            return;
+        }
+
+        if (event.action() == Action.DELETED) {
+            locked(() -> {
+                event.relatedIds().forEach(this::removeAlbum);
+                removeArtist(event.id());
+            });
+            return;
+        }
+
+        Artist artist = ReplicaRoutingDataSource.fromPrimary(() -> artistRepository.findById(event.id())).orElse(null);
+        locked(() -> {
+            if (artist == null) removeArtist(event.id());
+            else putArtist(artist.getId(), artist.getArtistName(), artist.getLetter());
+        });
+
+        // Artist edits list every album; only ones not counted yet (bulk import) need loading
+        Set<Integer> unknown = new HashSet<>(event.relatedIds());
+        locked(() -> unknown.removeAll(albums.keySet()));
+        refreshAlbums(unknown);
+    }
+
+    private void refreshAlbums(Collection<Integer> ids) {
+        if (ids.isEmpty()) return;
+
+        List<AlbumSummary> rows = ReplicaRoutingDataSource.fromPrimary(() -> albumRepository.findSummariesByIdIn(ids));
+        Set<Integer> gone = new HashSet<>(ids);
+        rows.forEach(row -> gone.remove(row.id()));
+
+        locked(() -> {
+            rows.forEach(this::putAlbum);
+            gone.forEach(this::removeAlbum);
+        });
+    }
+
+    private void locked(Runnable change) {
+        lock.lock();
+        try {
+            change.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* =========================
+       AGGREGATES (lock held)
+       ========================= */
+
+    private void putArtist(Integer id, String name, Character letter) {
+        ArtistTotals totals = artists.get(id);
+        if (totals == null) {
+            totals = new ArtistTotals();
+            artists.put(id, totals);
+        } else {
+            // A new letter moves the artist and all its albums in one step
+            bump(artistsByLetter, letter(totals.letter), -1);
+            bump(albumsByLetter, letter(totals.letter), -totals.albums);
+        }
+
+        totals.name = name;
+        totals.letter = letter;
+        bump(artistsByLetter, letter(letter), 1);
+        bump(albumsByLetter, letter(letter), totals.albums);
+    }
+
+    private void removeArtist(Integer id) {
+        ArtistTotals totals = artists.remove(id);
+        if (totals == null) return;
+
+        bump(artistsByLetter, letter(totals.letter), -1);
+        bump(albumsByLetter, letter(totals.letter), -totals.albums);
+    }
+
+    private void putAlbum(AlbumSummary album) {
+        removeAlbum(album.id());
+
+        Integer artistId = album.artist().id();
+        if (!artists.containsKey(artistId)) {
+            putArtist(artistId, album.artist().artistName(), album.artist().letter());
+        }
+
+        AlbumFacts facts = new AlbumFacts(artistId, genre(album.genre()), decade(album.releaseYear()),
+                ratingBucket(album.rating()), album.rating());
+        albums.put(album.id(), facts);
+        apply(facts, 1);
+    }
+
+    private void removeAlbum(Integer id) {
+        AlbumFacts facts = albums.remove(id);
+        if (facts != null) apply(facts, -1);
+    }
+
+    private void apply(AlbumFacts facts, int sign) {
+        bump(albumsByGenre, facts.genre(), sign);
+        bump(albumsByDecade, facts.decade(), sign);
+        bump(albumsByRating, facts.ratingBucket(), sign);
+        if (facts.rating() != null) {
+            rated += sign;
+            ratingSum += sign * facts.rating();
+        }
+
+        ArtistTotals totals = artists.get(facts.artistId());
+        if (totals == null) return;
+
+        totals.albums += sign;
+        bump(albumsByLetter, letter(totals.letter), sign);
+        if (facts.rating() != null) {
+            totals.rated += sign;
+            totals.ratingSum += sign * facts.rating();
+        }
+    }
+
+    /* =========================
+       HELPERS
+       ========================= */
+
+    private static void bump(Map<String, Long> counts, String key, long delta) {
+        if (delta == 0) return;
+        Long next = counts.merge(key, delta, Long::sum);
+        if (next == 0) counts.remove(key);
+    }
+
+    private static Double average(double sum, long count) {
+        return count == 0 ? null : sum / count;
+    }
+
+    private static String letter(Character letter) {
+        return letter == null ? "#" : String.valueOf(Character.toUpperCase(letter));
+    }
+
+    private static String genre(String genre) {
+        return genre == null || genre.isBlank() ? "none" : genre.trim();
+    }
+
+    private static String decade(Integer year) {
+        return year == null ? "unknown" : (year / 10 * 10) + "s";
+    }
+
+    // Same buckets as the rating filter in AlbumSpecifications
+    private static String ratingBucket(Double rating) {
+        return rating == null ? "unrated" : String.valueOf((int) Math.floor(rating));
+    }
+}
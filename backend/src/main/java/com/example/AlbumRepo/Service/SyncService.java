@@ -0,0 +1,138 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Config.ReplicaRoutingDataSource;
+import com.example.AlbumRepo.Config.SyncProperties;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Repository.TombstoneRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Delta sync for mirrors and clients: everything written or deleted after a
+ * timestamp, streamed as one JSON document in id order.
+ *
+ * <pre>
+ * {"since": ..., "next": ..., "full": false, "artists": [...], "albums": [...], "deleted": [...]}
+ * </pre>
+ *
+ * {@code next} is the {@code since} to ask with next time. It lags the read by
+ * {@link #COMMIT_LAG}, because a row is stamped when its transaction flushes,
+ * not when it commits; a slightly overlapping window can't miss a late commit,
+ * and re-applying a row is harmless. The rows are read from the primary: a
+ * replica lagging by more than that would leave out rows older than
+ * {@code next}, and the client would never ask for them again.
+ * <p>
+ * Deletions are only kept for the configured retention. A {@code since} from
+ * further back (or none) is answered with {@code "full": true} and the whole
+ * catalog: the client should then drop whatever the response doesn't list.
+ */
+@Service
+public class SyncService {
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+    static final Duration COMMIT_LAG = Duration.ofSeconds(5);
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final IAlbumRepository albumRepository;
+    private final IArtistRepository artistRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final ScheduledExecutorService purges =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("tombstone-purge").factory());
+
+    public SyncService(IAlbumRepository albumRepository, IArtistRepository artistRepository,
+                       TombstoneRepository tombstoneRepository, PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper, SyncProperties properties) {
+        this.albumRepository = albumRepository;
+        this.artistRepository = artistRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.retention = properties.tombstoneRetention();
+
+        long millis = PURGE_INTERVAL.toMillis();
+        purges.scheduleWithFixedDelay(this::purgeTombstones, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purges.shutdownNow();
+    }
+
+    // Deletions older than the retention; clients that far behind get a full resync instead
+    public int purgeTombstones() {
+        try {
+            int purged = tombstoneRepository.deleteBefore(Instant.now().minus(retention));
+            if (purged > 0) logger.info("Purged {} tombstones older than {}", purged, retention);
+            return purged;
+        } catch (RuntimeException e) {
+            logger.warn("Tombstone purge failed: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    public void writeChanges(Instant since, OutputStream out) {
+        Instant now = Instant.now();
+        Instant next = now.minus(COMMIT_LAG);
+        // Deletions before the horizon may be purged already, so only a full listing is safe
+        boolean full = since.isBefore(now.minus(retention));
+        Instant from = full ? Instant.EPOCH : since;
+
+        ReplicaRoutingDataSource.fromPrimary(() -> readOnly.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writePOJOField("since", since);
+                generator.writePOJOField("next", next.isAfter(since) ? next : since);
+                generator.writeBooleanField("full", full);
+
+                try (Stream<?> artists = artistRepository.streamRefsUpdatedSince(from)) {
+                    writeArray(generator, "artists", artists.iterator());
+                }
+                try (Stream<?> albums = albumRepository.streamSummariesUpdatedSince(from)) {
+                    writeArray(generator, "albums", albums.iterator());
+                }
+                if (full) {
+                    writeArray(generator, "deleted", Collections.emptyIterator());
+                } else {
+                    try (Stream<?> deleted = tombstoneRepository.streamSince(since)) {
+                        writeArray(generator, "deleted", deleted.iterator());
+                    }
+                }
+
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private void writeArray(JsonGenerator generator, String name, Iterator<?> rows) throws IOException {
+        generator.writeArrayFieldStart(name);
+        while (rows.hasNext()) {
+            generator.writeObject(rows.next());
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.AlbumRepo.Util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text folding shared by cover matching and search, so "Björk", "BJORK" and
+ * "bjork" compare equal everywhere.
+ */
+public final class TextNormalizer {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lowercases and strips diacritics, expanding ligatures and letters that
+     * don't decompose ("Æ" to "ae", "ø" to "o"). Other scripts pass through.
+     */
+    public static String fold(String s) {
+        if (s == null) return "";
+
+        String lower = s.toLowerCase(Locale.ROOT)
+                .replace("æ", "ae").replace("œ", "oe").replace("ß", "ss")
+                .replace("ø", "o").replace("đ", "d").replace("ł", "l");
+        return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    // Folded, then only a-z0-9: a compact key for exact comparisons
+    public static String norm(String s) {
+        return NON_ALNUM.matcher(fold(s)).replaceAll("");
+    }
+
+    // Folded words, split on anything that isn't a letter or digit
+    public static List<String> tokens(String s) {
+        String folded = fold(s);
+        List<String> tokens = new ArrayList<>();
+
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
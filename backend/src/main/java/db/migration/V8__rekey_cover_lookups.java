@@ -0,0 +1,119 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CoverLookups keys were written with the old norm(), which dropped accented
+ * letters ("Björk" became "bjrk"); TextNormalizer folds them instead ("bjork").
+ * The old keys can't be converted on their own, so both forms are rebuilt from
+ * the catalog's names and remembered lookups are moved to the new key. Where
+ * the new key already has a row, that row wins and the old one is dropped.
+ * Both key functions are frozen copies, so later changes to TextNormalizer
+ * don't change what this migration writes.
+ */
+public class V8__rekey_cover_lookups extends BaseJavaMigration {
+
+    private record Pair(String artistKey, String albumKey) {
+    }
+
+    private record Lookup(int id, String provider) {
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+
+        Map<Pair, Pair> renames = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT ar.artist_name, a.album_name FROM Albums a JOIN Artists ar ON ar.id = a.artist_id")) {
+            while (rows.next()) {
+                String artist = rows.getString(1);
+                String album = rows.getString(2);
+                Pair before = new Pair(oldKey(artist), oldKey(album));
+                Pair after = new Pair(newKey(artist), newKey(album));
+                if (!before.equals(after)) renames.put(before, after);
+            }
+        }
+        if (renames.isEmpty()) return;
+
+        try (PreparedStatement find = connection.prepareStatement(
+                     "SELECT id, provider FROM CoverLookups WHERE artist_key = ? AND album_key = ?");
+             PreparedStatement taken = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM CoverLookups WHERE provider = ? AND artist_key = ? AND album_key = ?");
+             PreparedStatement move = connection.prepareStatement(
+                     "UPDATE CoverLookups SET artist_key = ?, album_key = ? WHERE id = ?");
+             PreparedStatement drop = connection.prepareStatement(
+                     "DELETE FROM CoverLookups WHERE id = ?")) {
+            for (Map.Entry<Pair, Pair> rename : renames.entrySet()) {
+                for (Lookup lookup : lookups(find, rename.getKey())) {
+                    Pair to = rename.getValue();
+                    if (exists(taken, lookup.provider(), to)) {
+                        drop.setInt(1, lookup.id());
+                        drop.executeUpdate();
+                    } else {
+                        move.setString(1, to.artistKey());
+                        move.setString(2, to.albumKey());
+                        move.setInt(3, lookup.id());
+                        move.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Lookup> lookups(PreparedStatement find, Pair key) throws SQLException {
+        find.setString(1, key.artistKey());
+        find.setString(2, key.albumKey());
+        try (ResultSet rows = find.executeQuery()) {
+            List<Lookup> found = new ArrayList<>();
+            while (rows.next()) found.add(new Lookup(rows.getInt(1), rows.getString(2)));
+            return found;
+        }
+    }
+
+    private static boolean exists(PreparedStatement taken, String provider, Pair key) throws SQLException {
+        taken.setString(1, provider);
+        taken.setString(2, key.artistKey());
+        taken.setString(3, key.albumKey());
+        try (ResultSet rows = taken.executeQuery()) {
+            return rows.next() && rows.getLong(1) > 0;
+        }
+    }
+
+    // CoverArtService.lookupKey over the norm() it used before TextNormalizer (frozen here)
+    private static String oldKey(String name) {
+        String normalized = name == null ? "" : name.toLowerCase().replaceAll("[^a-z0-9]", "").trim();
+        return normalized.isEmpty() ? fallback(name) : normalized;
+    }
+
+    // The same over TextNormalizer.norm as it was when the keys moved (frozen here)
+    private static String newKey(String name) {
+        String normalized = name == null ? "" : fold(name).replaceAll("[^a-z0-9]", "");
+        return normalized.isEmpty() ? fallback(name) : normalized;
+    }
+
+    private static String fold(String name) {
+        String lower = name.toLowerCase(Locale.ROOT)
+                .replace("æ", "ae").replace("œ", "oe").replace("ß", "ss")
+                .replace("ø", "o").replace("đ", "d").replace("ł", "l");
+        return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+    }
+
+    private static String fallback(String name) {
+        return name == null ? "" : name.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,7 @@
+-- The album search filters and orders on the V9 sort columns, and the genre
+-- filter is a substring match no index serves, so these V2 indexes only cost
+-- writes now. idx_albums_artist_year_order stays: it backs the artist filter.
+DROP INDEX idx_albums_year_order ON Albums;
+DROP INDEX idx_albums_rating ON Albums;
+DROP INDEX idx_albums_album_name ON Albums;
+DROP INDEX idx_albums_genre ON Albums;
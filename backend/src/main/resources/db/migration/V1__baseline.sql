@@ -0,0 +1,22 @@
+-- Schema as it existed before migrations were introduced. Existing databases
+-- are baselined at this version, so this only runs against an empty schema.
+
+CREATE TABLE IF NOT EXISTS Artists (
+    id          INT          NOT NULL AUTO_INCREMENT,
+    letter      CHAR(1),
+    artist_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS Albums (
+    id            INT          NOT NULL AUTO_INCREMENT,
+    artist_id     INT          NOT NULL,
+    album_name    VARCHAR(255),
+    release_year  INT,
+    release_order INT,
+    genre         VARCHAR(255),
+    rating        DOUBLE,
+    cover_url     VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_albums_artist FOREIGN KEY (artist_id) REFERENCES Artists (id)
+);
@@ -0,0 +1,16 @@
+-- Sort key used by the album search endpoint. Mirrors normalizeArtistName() on
+-- the frontend (leading article dropped, case folded); accents are handled by
+-- the accent-insensitive column collation.
+ALTER TABLE Artists ADD COLUMN sort_name VARCHAR(255);
+
+UPDATE Artists
+SET sort_name = LOWER(REGEXP_REPLACE(TRIM(artist_name), '^(the|a|an)[[:space:]]+', '', 1, 1, 'i'));
+
+CREATE INDEX idx_artists_letter_sort_name ON Artists (letter, sort_name, id);
+CREATE INDEX idx_artists_sort_name ON Artists (sort_name, id);
+
+CREATE INDEX idx_albums_artist_year_order ON Albums (artist_id, release_year, release_order, album_name);
+CREATE INDEX idx_albums_year_order ON Albums (release_year, release_order, id);
+CREATE INDEX idx_albums_rating ON Albums (rating, id);
+CREATE INDEX idx_albums_genre ON Albums (genre, id);
+CREATE INDEX idx_albums_album_name ON Albums (album_name, id);
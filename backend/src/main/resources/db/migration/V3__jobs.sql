@@ -0,0 +1,18 @@
+-- Background jobs (cover lookups). Queued and running rows are picked up
+-- again when the application restarts.
+CREATE TABLE Jobs (
+    id          INT          NOT NULL AUTO_INCREMENT,
+    type        VARCHAR(32)  NOT NULL,
+    status      VARCHAR(32)  NOT NULL,
+    album_id    INT,
+    total       INT          NOT NULL DEFAULT 0,
+    succeeded   INT          NOT NULL DEFAULT 0,
+    failed      INT          NOT NULL DEFAULT 0,
+    error       VARCHAR(1000),
+    created_at  TIMESTAMP(6) NOT NULL,
+    started_at  TIMESTAMP(6),
+    finished_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_jobs_status ON Jobs (status);
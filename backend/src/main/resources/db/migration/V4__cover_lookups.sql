@@ -0,0 +1,14 @@
+-- Remembered provider answers (hits and misses) per normalized artist/album,
+-- so repeat backfills don't spend rate budget re-failing the same albums.
+CREATE TABLE CoverLookups (
+    id         INT          NOT NULL AUTO_INCREMENT,
+    provider   VARCHAR(32)  NOT NULL,
+    artist_key VARCHAR(255) NOT NULL,
+    album_key  VARCHAR(255) NOT NULL,
+    cover_url  VARCHAR(512),
+    misses     INT          NOT NULL DEFAULT 0,
+    checked_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uq_cover_lookups_key UNIQUE (provider, artist_key, album_key)
+);
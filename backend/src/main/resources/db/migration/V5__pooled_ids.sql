@@ -0,0 +1,14 @@
+-- Artists and Albums take ids from pooled sequences in blocks of 50, which
+-- lets Hibernate batch their inserts (IDENTITY costs a round trip per row).
+-- MySQL has no sequences, so Hibernate keeps each one in a single-row table.
+-- The pooled optimizer treats next_val as the top of the next block and
+-- hands out next_val - 49 onwards, hence MAX(id) + 50.
+CREATE TABLE Artists_seq (
+    next_val BIGINT
+);
+INSERT INTO Artists_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM Artists;
+
+CREATE TABLE Albums_seq (
+    next_val BIGINT
+);
+INSERT INTO Albums_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM Albums;
@@ -0,0 +1,3 @@
+-- Optimistic locking for albums: every update bumps version, and a write
+-- based on a stale version is rejected (412 from the API).
+ALTER TABLE Albums ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
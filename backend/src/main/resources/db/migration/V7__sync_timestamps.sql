@@ -0,0 +1,18 @@
+-- Delta sync (GET /api/sync): when each row last changed, and a record of
+-- deletions. The entity listener stamps updated_at; ON UPDATE also catches
+-- edits made directly in SQL.
+ALTER TABLE Artists ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+ALTER TABLE Albums ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_artists_updated_at ON Artists (updated_at, id);
+CREATE INDEX idx_albums_updated_at ON Albums (updated_at, id);
+
+CREATE TABLE Tombstones (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    kind       VARCHAR(16)  NOT NULL,
+    entity_id  INT          NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tombstones_deleted_at ON Tombstones (deleted_at, entity_id);
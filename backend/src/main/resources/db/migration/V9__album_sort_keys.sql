@@ -0,0 +1,20 @@
+-- Sort keys for the album search endpoint with the sentinels for missing values
+-- filled in, so ordering and the keyset cursor compare bare indexed columns
+-- instead of COALESCE expressions no index can serve. The sentinels match
+-- AlbumSpecifications: unknown years sort as 9999, unrated albums as -1.
+ALTER TABLE Albums
+    ADD COLUMN sort_title  VARCHAR(255) AS (COALESCE(album_name, '')) NOT NULL,
+    ADD COLUMN sort_year   INT          AS (COALESCE(release_year, 9999)) NOT NULL,
+    ADD COLUMN sort_order  INT          AS (COALESCE(release_order, 9999)) NOT NULL,
+    ADD COLUMN sort_genre  VARCHAR(255) AS (COALESCE(genre, '')) NOT NULL,
+    ADD COLUMN sort_rating DOUBLE       AS (COALESCE(rating, -1)) NOT NULL;
+
+CREATE INDEX idx_albums_sort_title ON Albums (sort_title, id);
+CREATE INDEX idx_albums_sort_year ON Albums (sort_year, sort_order, id);
+CREATE INDEX idx_albums_sort_genre ON Albums (sort_genre, id);
+CREATE INDEX idx_albums_sort_rating ON Albums (sort_rating, id);
+
+-- Artists always get a sort name from the entity; '' stands in for a missing
+-- artist name, so idx_artists_sort_name serves the ordering as-is.
+UPDATE Artists SET sort_name = '' WHERE sort_name IS NULL;
+ALTER TABLE Artists MODIFY sort_name VARCHAR(255) NOT NULL DEFAULT '';
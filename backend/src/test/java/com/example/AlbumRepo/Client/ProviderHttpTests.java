@@ -0,0 +1,96 @@
+package com.example.AlbumRepo.Client;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderHttpTests {
+    record Answer(String value) {
+    }
+
+    HttpServer stub;
+    final AtomicInteger calls = new AtomicInteger();
+    ProviderHttp http;
+
+    @BeforeEach
+    void start() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Throttles the first call, then answers
+        stub.createContext("/flaky", exchange -> {
+            if (calls.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                respond(exchange, 429, "{}");
+            } else {
+                respond(exchange, 200, "{\"value\":\"ok\"}");
+            }
+        });
+        stub.createContext("/down", exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 503, "{}");
+        });
+        stub.start();
+
+        CoverArtProperties.Http config = new CoverArtProperties.Http(Duration.ofSeconds(1), Duration.ofSeconds(2), 2, 2,
+                Duration.ofMillis(1), Duration.ofMillis(50), new CoverArtProperties.Breaker(2, Duration.ofMinutes(1)));
+        http = new ProviderHttp("stub", HttpClient.newHttpClient(), new ObjectMapper(), config, null, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void stop() {
+        stub.stop(0);
+    }
+
+    @Test
+    void honoursRetryAfterAndParsesTheAnswer() throws Exception {
+        Answer answer = http.send(http.request(uri("/flaky")).GET().build(), Answer.class);
+
+        assertThat(answer.value()).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void repeatedFailuresOpenTheCircuit() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> http.send(http.request(uri("/down")).GET().build(), Answer.class))
+                    .isInstanceOf(ProviderException.class)
+                    .extracting(e -> ((ProviderException) e).getStatus()).isEqualTo(503);
+        }
+        assertThat(http.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Two attempts per call, then nothing reaches the server
+        assertThatThrownBy(() -> http.send(http.request(uri("/down")).GET().build(), Answer.class))
+                .isInstanceOf(ProviderException.class)
+                .hasMessageContaining("circuit open");
+        assertThat(calls.get()).isEqualTo(4);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + stub.getAddress().getPort() + path);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
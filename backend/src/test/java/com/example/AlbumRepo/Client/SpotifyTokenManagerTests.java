@@ -0,0 +1,97 @@
+package com.example.AlbumRepo.Client;
+
+import com.example.AlbumRepo.Config.CoverArtProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpotifyTokenManagerTests {
+    HttpServer stub;
+    final AtomicInteger issued = new AtomicInteger();
+    volatile int expiresIn = 3600;
+    SpotifyTokenManager tokens;
+
+    // Slow token endpoint handing out token-1, token-2, ...
+    @BeforeEach
+    void start() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/token", exchange -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"access_token\":\"token-" + issued.incrementAndGet() + "\",\"expires_in\":" + expiresIn + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        CoverArtProperties properties = new CoverArtProperties(
+                new CoverArtProperties.Spotify("id", "secret", "http://localhost:" + stub.getAddress().getPort() + "/token",
+                        "http://unused", 100, null, Duration.ofMinutes(5)),
+                null, null, null,
+                new CoverArtProperties.Http(Duration.ofSeconds(1), Duration.ofSeconds(5), 8, 1,
+                        Duration.ofMillis(10), Duration.ofMillis(100), new CoverArtProperties.Breaker(5, Duration.ofSeconds(30))));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpotifyClient client = new SpotifyClient(HttpClient.newHttpClient(), new ObjectMapper(), properties, registry);
+        tokens = new SpotifyTokenManager(client, properties, registry);
+    }
+
+    @AfterEach
+    void stop() {
+        tokens.shutdown();
+        stub.stop(0);
+    }
+
+    @Test
+    void concurrentCallersShareOneRequest() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(callers.submit(tokens::token));
+            }
+        }
+
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("token-1");
+        }
+        assertThat(issued.get()).isEqualTo(1);
+    }
+
+    @Test
+    void usedTokensAreRefreshedAheadOfExpiry() throws Exception {
+        // Two-second tokens are renewed after one second
+        expiresIn = 2;
+        assertThat(tokens.token()).isEqualTo("token-1");
+
+        Thread.sleep(1500);
+
+        long started = System.nanoTime();
+        assertThat(tokens.token()).isEqualTo("token-2");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(100));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.AlbumRepo.Config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two embedded databases, each answering with its own name
+class ReplicaRoutingTests {
+    ReplicaRoutingDataSource routing;
+    JdbcTemplate jdbc;
+    TransactionTemplate writes;
+    TransactionTemplate reads;
+
+    @AfterEach
+    void close() throws Exception {
+        routing.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaUntilAWriteCommits() {
+        wire(database("primary"), database("replica"), Duration.ofMillis(300));
+
+        assertThat(read()).isEqualTo("replica");
+        assertThat(write()).isEqualTo("primary");
+
+        // Read-your-writes: the commit above keeps reads on the primary for a moment
+        assertThat(read()).isEqualTo("primary");
+        sleep(400);
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void aFailedReplicaFallsBackToThePrimaryUntilItRecovers() {
+        FlakyDataSource replica = new FlakyDataSource(database("replica"));
+        wire(database("primary"), replica, Duration.ZERO);
+
+        replica.down = true;
+        assertThat(read()).isEqualTo("primary");
+        replica.down = false;
+        assertThat(read()).isEqualTo("primary");
+
+        routing.checkReplicas();
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void loadsThatAreKeptReadFromThePrimary() throws SQLException {
+        wire(database("primary"), database("replica"), Duration.ZERO);
+
+        assertThat(ReplicaRoutingDataSource.fromPrimary(this::read)).isEqualTo("primary");
+        assertThat(read()).isEqualTo("replica");
+
+        try (Connection connection = routing.getConnection("", "")) {
+            assertThat(new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM Server", String.class)).isEqualTo("primary");
+        }
+    }
+
+    private void wire(DataSource primary, DataSource replica, Duration readYourWrites) {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), readYourWrites);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing.writeTracking());
+        proxy.setReadOnlyDataSource(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        jdbc = new JdbcTemplate(proxy);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    private String read() {
+        return reads.execute(status -> server());
+    }
+
+    private String write() {
+        return writes.execute(status -> server());
+    }
+
+    private String server() {
+        return jdbc.queryForObject("SELECT name FROM Server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE Server (name VARCHAR(16)); INSERT INTO Server VALUES ('" + name + "')");
+        return dataSource;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class FlakyDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) throw new SQLException("Connection refused");
+            return super.getConnection();
+        }
+    }
+}
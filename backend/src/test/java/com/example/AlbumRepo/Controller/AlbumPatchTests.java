@@ -0,0 +1,97 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlbumPatchTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+
+    Album album;
+
+    @BeforeEach
+    void seed() {
+        Artist artist = new Artist();
+        artist.setArtistName("Slowdive");
+        artist.setLetter('S');
+        artist = artistRepository.save(artist);
+
+        album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName("Souvlaki");
+        album.setReleaseYear(1993);
+        album.setGenre("Shoegaze");
+        album = albumRepository.save(album);
+    }
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void patchChangesOnlyTheGivenFields() throws Exception {
+        mockMvc.perform(get("/api/albums/" + album.getId()))
+                .andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(patch("/api/albums/" + album.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rating\":9.0,\"genre\":null}")
+                        .header("If-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.albumName").value("Souvlaki"))
+                .andExpect(jsonPath("$.rating").value(9.0));
+
+        Album stored = albumRepository.findById(album.getId()).orElseThrow();
+        assertThat(stored.getGenre()).isNull();
+        assertThat(stored.getReleaseYear()).isEqualTo(1993);
+    }
+
+    @Test
+    void staleVersionsAreRejected() throws Exception {
+        mockMvc.perform(patch("/api/albums/" + album.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rating\":7.5}"))
+                .andExpect(status().isOk());
+
+        // Both a stale If-Match and a stale version in a full PUT body lose
+        mockMvc.perform(patch("/api/albums/" + album.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rating\":1.0}")
+                        .header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/albums/update-album/" + album.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"albumName\":\"Pygmalion\",\"version\":0,\"artist\":{\"id\":" + album.getArtist().getId() + "}}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/albums/" + album.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"colour\":\"blue\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(albumRepository.findById(album.getId()).orElseThrow().getRating()).isEqualTo(7.5);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogCacheTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Album album;
+
+    @BeforeEach
+    void seed() {
+        Artist artist = new Artist();
+        artist.setArtistName("Cocteau Twins");
+        artist.setLetter('C');
+        artist = artistRepository.save(artist);
+
+        album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName("Heaven or Las Vegas");
+        album.setRating(8.0);
+        album = albumRepository.save(album);
+    }
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void detailIsServedFromTheCacheUntilAWriteReloadsIt() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Integer artistId = album.getArtist().getId();
+        entityManagerFactory.getCache().evictAll();
+
+        mockMvc.perform(get("/api/albums/" + album.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/artists/" + artistId)).andExpect(status().isOk());
+
+        // Hit: neither detail touches the database the second time
+        statistics.clear();
+        mockMvc.perform(get("/api/albums/" + album.getId()))
+                .andExpect(jsonPath("$.rating").value(8.0))
+                .andExpect(jsonPath("$.artist.artistName").value("Cocteau Twins"));
+        mockMvc.perform(get("/api/artists/" + artistId))
+                .andExpect(jsonPath("$.albums[0].rating").value(8.0));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        mockMvc.perform(patch("/api/albums/" + album.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rating\":9.5}"))
+                .andExpect(status().isOk());
+
+        // Reload: every view of the album reflects the write
+        mockMvc.perform(get("/api/albums/" + album.getId()))
+                .andExpect(jsonPath("$.rating").value(9.5));
+        mockMvc.perform(get("/api/artists/" + artistId))
+                .andExpect(jsonPath("$.albums[0].rating").value(9.5));
+        mockMvc.perform(get("/api/albums"))
+                .andExpect(jsonPath("$[?(@.id == " + album.getId() + ")].rating").value(9.5));
+    }
+}
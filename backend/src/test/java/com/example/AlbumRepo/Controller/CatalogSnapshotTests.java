@@ -0,0 +1,146 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Service.ArtistService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogSnapshotTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ArtistService artistService;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedListingIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/artists"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/artists").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void writeChangesTheEtag() throws Exception {
+        String before = mockMvc.perform(get("/api/artists"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Artist artist = new Artist();
+        artist.setArtistName("Portishead");
+        artist.setLetter('P');
+        artistService.createArtist(artist);
+
+        String after = mockMvc.perform(get("/api/artists").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void gzipIsServedWhenAccepted() throws Exception {
+        mockMvc.perform(get("/api/albums").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void listingsKeepTheCardShape() throws Exception {
+        Artist artist = new Artist();
+        artist.setArtistName("Portishead");
+        artist.setLetter('P');
+        artistService.createArtist(artist);
+
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName("Dummy");
+        album.setRating(9.5);
+        album.setCoverURL("https://img.example/dummy.jpg");
+        albumRepository.save(album);
+
+        Artist empty = new Artist();
+        empty.setArtistName("Nobody");
+        empty.setLetter('N');
+        artistService.createArtist(empty);
+
+        mockMvc.perform(get("/api/albums"))
+                .andExpect(jsonPath("$[0].albumName").value("Dummy"))
+                .andExpect(jsonPath("$[0].coverURL").value("https://img.example/dummy.jpg"))
+                .andExpect(jsonPath("$[0].artist.artistName").value("Portishead"));
+
+        mockMvc.perform(get("/api/artists"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].albums[0].rating").value(9.5))
+                .andExpect(jsonPath("$[1].albums").isEmpty());
+    }
+
+    @Test
+    void streamedFormatsAreNegotiatedFromAccept() throws Exception {
+        Artist artist = new Artist();
+        artist.setArtistName("Portishead");
+        artist.setLetter('P');
+        artistService.createArtist(artist);
+        for (String name : new String[]{"Dummy", "Portishead", "Third"}) {
+            Album album = new Album();
+            album.setArtist(artist);
+            album.setAlbumName(name);
+            albumRepository.save(album);
+        }
+
+        MvcResult ndjson = mockMvc.perform(get("/api/albums").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        // Scoped to the stream rather than the container's default async timeout
+        assertThat(ndjson.getRequest().getAsyncContext().getTimeout()).isEqualTo(StreamedListings.STREAM_TIMEOUT.toMillis());
+        String lines = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(lines.lines()).hasSize(3).first().asString().contains("\"albumName\":\"Dummy\"");
+
+        MvcResult cbor = mockMvc.perform(get("/api/artists").accept(MediaType.APPLICATION_CBOR)).andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(cbor))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode artists = new CBORMapper().readTree(body);
+        assertThat(artists.size()).isEqualTo(1);
+        assertThat(artists.get(0).get("albums").size()).isEqualTo(3);
+
+        // Clients that accept anything still get the JSON snapshot
+        mockMvc.perform(get("/api/albums").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogTransferTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void csvImportReusesArtistsAndExportRoundTrips() throws Exception {
+        Artist existing = new Artist();
+        existing.setArtistName("Portishead");
+        existing.setLetter('P');
+        artistRepository.save(existing);
+
+        String csv = """
+                artistName,albumName,releaseYear,rating,coverURL
+                Portishead,Dummy,1994,9.5,
+                The Beatles,Revolver,1966,,
+                The Beatles,Abbey Road,1969,10,
+                ,No Artist,2000,,
+                """;
+
+        mockMvc.perform(post("/api/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.albumsCreated").value(3))
+                .andExpect(jsonPath("$.artistsCreated").value(1))
+                .andExpect(jsonPath("$.skipped").value(1));
+
+        assertThat(artistRepository.count()).isEqualTo(2);
+        Artist beatles = artistRepository.findByArtistNameIn(List.of("The Beatles")).get(0);
+        assertThat(beatles.getLetter()).isEqualTo('B');
+
+        String ndjson = export("ndjson");
+        assertThat(ndjson.lines()).hasSize(3);
+        assertThat(ndjson.lines().findFirst().orElseThrow())
+                .contains("\"artistName\":\"Portishead\"", "\"albumName\":\"Dummy\"", "\"rating\":9.5");
+
+        String exportedCsv = export("csv");
+        assertThat(exportedCsv.lines().findFirst().orElseThrow())
+                .isEqualTo("artistName,letter,albumName,releaseYear,releaseOrder,genre,rating,coverURL");
+        assertThat(exportedCsv.lines()).hasSize(4);
+    }
+
+    @Test
+    void ndjsonImport() throws Exception {
+        String ndjson = """
+                {"artistName":"Björk","albumName":"Debut","releaseYear":1993}
+                {"artistName":"Björk","albumName":"Post","releaseYear":1995,"genre":"Electronic"}
+                {"artistName":"BJORK","albumName":"Homogenic","releaseYear":1997}
+                """;
+
+        mockMvc.perform(post("/api/import").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.albumsCreated").value(3))
+                .andExpect(jsonPath("$.artistsCreated").value(1));
+
+        assertThat(albumRepository.count()).isEqualTo(3);
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/export").param("format", format)).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.DTO.CatalogChange;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Action;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import com.example.AlbumRepo.Service.AlbumService;
+import com.example.AlbumRepo.Service.ArtistService;
+import com.example.AlbumRepo.Service.ChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeFeedTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ChangeFeed changeFeed;
+    @Autowired
+    ArtistService artistService;
+    @Autowired
+    AlbumService albumService;
+
+    Artist artist;
+    CatalogChange.Cursor before;
+
+    @BeforeEach
+    void seed() {
+        before = CatalogChange.Cursor.parse(changeFeed.changesSince(null).latest());
+        artist = new Artist();
+        artist.setArtistName("Cocteau Twins");
+        artist.setLetter('C');
+        artist = artistService.createArtist(artist);
+    }
+
+    @AfterEach
+    void clear() {
+        artistService.deleteArtist(artist.getId());
+    }
+
+    @Test
+    void committedWritesAppearInOrderAfterSince() throws Exception {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName("Heaven or Las Vegas");
+        album = albumService.createAlbum(album);
+
+        CatalogChange.Page page = changeFeed.changesSince(before);
+        assertThat(page.reset()).isFalse();
+        assertThat(page.changes()).extracting(CatalogChange::kind, CatalogChange::action, CatalogChange::id)
+                .containsExactly(
+                        tuple(Kind.ARTIST, Action.CREATED, artist.getId()),
+                        tuple(Kind.ALBUM, Action.CREATED, album.getId()));
+        assertThat(page.changes().get(1).seq()).isEqualTo(page.changes().get(0).seq() + 1);
+
+        mockMvc.perform(get("/api/changes").param("since", page.latest()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.latest").value(page.latest()));
+
+        // The same seq from another run (or without an epoch) can't be resumed
+        String otherEpoch = (before.epoch() - 1) + "-" + before.seq();
+        for (String since : new String[]{otherEpoch, String.valueOf(before.seq())}) {
+            mockMvc.perform(get("/api/changes").param("since", since).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.reset").value(true))
+                    .andExpect(jsonPath("$.changes").isEmpty());
+        }
+    }
+
+    @Test
+    void streamReplaysFromLastEventId() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/changes")
+                        .header("Last-Event-ID", before.toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("event:change", "id:" + new CatalogChange.Cursor(before.epoch(), before.seq() + 1), "\"kind\":\"ARTIST\"");
+    }
+}
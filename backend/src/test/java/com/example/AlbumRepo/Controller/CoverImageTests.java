@@ -0,0 +1,196 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Service.CoverImageService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CoverImageTests {
+    static HttpServer stub;
+    static String base;
+    static final AtomicInteger downloads = new AtomicInteger();
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+
+    // Mimics coverartarchive: /front redirects to a large original
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) throws IOException {
+        ByteArrayOutputStream png = png(1200, 800);
+        ByteArrayOutputStream huge = png(1500, 1000);
+
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/release/front", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/full.png");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        stub.createContext("/full.png", exchange -> {
+            downloads.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, png.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                png.writeTo(out);
+            }
+        });
+        stub.createContext("/huge.png", exchange -> {
+            exchange.sendResponseHeaders(200, huge.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                huge.writeTo(out);
+            }
+        });
+        // Same server under a host that isn't allowed
+        stub.createContext("/escape", exchange -> {
+            exchange.getResponseHeaders().add("Location", "http://127.0.0.1:" + stub.getAddress().getPort() + "/full.png");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        stub.start();
+
+        base = "http://localhost:" + stub.getAddress().getPort();
+        registry.add("coverart.images.storage-dir", () -> createTempDir());
+        registry.add("coverart.images.allowed-hosts", () -> "localhost");
+        registry.add("coverart.images.max-pixels", () -> "1000000");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void coverIsFetchedOnceAndResized() throws Exception {
+        Album album = album(base + "/release/front");
+        int before = downloads.get();
+
+        for (int size : new int[]{150, 600}) {
+            byte[] body = mockMvc.perform(get("/api/covers/" + album.getId()).param("size", String.valueOf(size))
+                            .param("v", CoverImageService.version(album.getCoverURL())))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(body));
+            assertThat(thumbnail.getWidth()).isEqualTo(size);
+            assertThat(thumbnail.getHeight()).isEqualTo(size * 2 / 3);
+        }
+
+        assertThat(downloads.get() - before).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedCoverIsNotModified() throws Exception {
+        Album album = album(base + "/release/front");
+
+        String etag = mockMvc.perform(get("/api/covers/" + album.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/covers/" + album.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void onlyTheCurrentVersionIsImmutable() throws Exception {
+        Album album = album(base + "/release/front");
+
+        // A stale or made-up v= must not pin the current cover
+        mockMvc.perform(get("/api/covers/" + album.getId()).param("v", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        // Same token the frontend's coverUrl.ts computes for this URL
+        assertThat(CoverImageService.version("https://coverartarchive.org/release/x/front")).isEqualTo("l6i8bx");
+    }
+
+    @Test
+    void unsupportedSizeOrMissingCoverIsRejected() throws Exception {
+        Album album = album("/default-cover.png");
+
+        mockMvc.perform(get("/api/covers/" + album.getId()).param("size", "123"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/covers/" + album.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void otherHostsAndOversizedImagesAreRefused() throws Exception {
+        int before = downloads.get();
+        String elsewhere = "http://127.0.0.1:" + stub.getAddress().getPort() + "/full.png";
+
+        for (String url : new String[]{elsewhere, base + "/escape", base + "/huge.png"}) {
+            Album album = album(url);
+            mockMvc.perform(get("/api/covers/" + album.getId()))
+                    .andExpect(status().isBadGateway());
+        }
+
+        assertThat(downloads.get()).isEqualTo(before);
+    }
+
+    private Album album(String coverUrl) {
+        Artist artist = new Artist();
+        artist.setArtistName("Portishead");
+        artist.setLetter('P');
+        artistRepository.save(artist);
+
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName("Dummy");
+        album.setCoverURL(coverUrl);
+        return albumRepository.save(album);
+    }
+
+    private static ByteArrayOutputStream png(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", png);
+        return png;
+    }
+
+    private static String createTempDir() {
+        try {
+            return Files.createTempDirectory("covers").toString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Service.ArtistService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DiscographyTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+    @Autowired
+    ArtistService artistService;
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void createsThenDiffsAgainstStoredAlbums() throws Exception {
+        String created = mockMvc.perform(put("/api/artists/0/discography").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"artistName":"Radiohead","albums":[
+                          {"albumName":"OK Computer","releaseYear":1997},
+                          {"albumName":"Kid A","releaseYear":2000},
+                          {"albumName":"Amnesiac","releaseYear":2001}]}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.albumsCreated").value(3))
+                .andExpect(jsonPath("$.artist.letter").value("R"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode artist = objectMapper.readTree(created).get("artist");
+        int artistId = artist.get("id").asInt();
+        Integer kidA = albumRepository.findAll().stream()
+                .filter(a -> a.getAlbumName().equals("Kid A")).map(Album::getId).findFirst().orElseThrow();
+
+        // Kid A by id with a rating, OK Computer unchanged by name, Amnesiac dropped, one new
+        mockMvc.perform(put("/api/artists/" + artistId + "/discography").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"artistName":"Radiohead","albums":[
+                          {"albumName":"ok computer","releaseYear":1997},
+                          {"id":%d,"albumName":"Kid A","releaseYear":2000,"rating":9.5},
+                          {"albumName":"In Rainbows","releaseYear":2007}]}
+                        """.formatted(kidA)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.albumsCreated").value(1))
+                .andExpect(jsonPath("$.albumsUpdated").value(2))
+                .andExpect(jsonPath("$.albumsDeleted").value(1));
+
+        Artist stored = artistService.getArtistById(artistId);
+        assertThat(stored.getAlbums()).extracting(Album::getAlbumName)
+                .containsExactlyInAnyOrder("ok computer", "Kid A", "In Rainbows");
+        assertThat(albumRepository.findById(kidA).orElseThrow().getRating()).isEqualTo(9.5);
+    }
+
+    @Test
+    void rejectsAlbumsOfAnotherArtist() throws Exception {
+        Artist other = new Artist();
+        other.setArtistName("Other");
+        other = artistRepository.save(other);
+        Album foreign = new Album();
+        foreign.setArtist(other);
+        foreign.setAlbumName("Foreign");
+        foreign = albumRepository.save(foreign);
+
+        mockMvc.perform(put("/api/artists/0/discography").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"artistName":"Someone","albums":[{"id":%d,"albumName":"Foreign"}]}
+                        """.formatted(foreign.getId())))
+                .andExpect(status().isBadRequest());
+
+        assertThat(artistRepository.count()).isEqualTo(1);
+    }
+}
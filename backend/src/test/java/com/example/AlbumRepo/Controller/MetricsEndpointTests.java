@@ -0,0 +1,38 @@
+package com.example.AlbumRepo.Controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void prometheusExposesRequestAndRepositoryHistograms() throws Exception {
+        mockMvc.perform(get("/api/albums/search")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/artists/1"));
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("le=\"0.1\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("catalog_repository_rows_bucket{")
+                .contains("hikaricp_connections_pending")
+                .contains("hibernate_second_level_cache_requests_total{");
+    }
+}
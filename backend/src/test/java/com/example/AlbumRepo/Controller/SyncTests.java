@@ -0,0 +1,144 @@
+package com.example.AlbumRepo.Controller;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Event.CatalogChangedEvent.Kind;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.example.AlbumRepo.Repository.TombstoneRepository;
+import com.example.AlbumRepo.Service.AlbumService;
+import com.example.AlbumRepo.Service.SyncService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SyncTests {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    AlbumService albumService;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+    @Autowired
+    TombstoneRepository tombstoneRepository;
+    @Autowired
+    SyncService syncService;
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void returnsOnlyWhatChangedSince() throws Exception {
+        Artist artist = new Artist();
+        artist.setArtistName("Low");
+        artist.setLetter('L');
+        artist = artistRepository.save(artist);
+        Album kept = album(artist, "Things We Lost in the Fire");
+        Album edited = album(artist, "Double Negative");
+        Album removed = album(artist, "Hey What");
+
+        Thread.sleep(5);
+        Instant since = Instant.now();
+        Thread.sleep(5);
+
+        edited.setRating(9.0);
+        albumService.updateAlbum(edited.getId(), edited);
+        albumService.deleteAlbum(removed.getId());
+
+        MvcResult started = mockMvc.perform(get("/api/sync").param("since", since.toString())).andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.artists", empty()))
+                .andExpect(jsonPath("$.albums[*].id", contains(edited.getId())))
+                .andExpect(jsonPath("$.albums[0].rating").value(9.0))
+                .andExpect(jsonPath("$.deleted[*].id", contains(removed.getId())))
+                .andExpect(jsonPath("$.deleted[0].kind").value("ALBUM"));
+
+        mockMvc.perform(get("/api/sync").param("since", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sinceBeyondTheRetentionIsAFullResync() throws Exception {
+        tombstoneRepository.record(Kind.ALBUM, -1, Instant.now().minus(Duration.ofDays(400)));
+        assertThat(syncService.purgeTombstones()).isPositive();
+
+        Artist artist = new Artist();
+        artist.setArtistName("Codeine");
+        artist.setLetter('C');
+        artist = artistRepository.save(artist);
+        Album album = album(artist, "Frigid Stars");
+
+        // Deletions from back then are gone, so the answer is everything there is
+        MvcResult started = mockMvc.perform(get("/api/sync").param("since", "2020-01-01T00:00:00Z")).andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full").value(true))
+                .andExpect(jsonPath("$.artists[*].id", contains(artist.getId())))
+                .andExpect(jsonPath("$.albums[*].id", contains(album.getId())))
+                .andExpect(jsonPath("$.deleted", empty()));
+    }
+
+    // The "replica" is an empty database: a sync read that reached it would fail, not just lag.
+    // The enclosing instance is wired from the context without it, hence the own fields
+    @Nested
+    @TestPropertySource(properties = "catalog.datasource.replica-urls=jdbc:h2:mem:sync-replica;DB_CLOSE_DELAY=-1")
+    class WithAReplica {
+        @Autowired
+        MockMvc replicaMockMvc;
+        @Autowired
+        AlbumService replicaAlbumService;
+        @Autowired
+        IArtistRepository replicaArtistRepository;
+
+        @Test
+        void readsFromThePrimary() throws Exception {
+            Artist artist = new Artist();
+            artist.setArtistName("Galaxie 500");
+            artist.setLetter('G');
+            artist = replicaArtistRepository.save(artist);
+            Album album = new Album();
+            album.setArtist(artist);
+            album.setAlbumName("On Fire");
+            album = replicaAlbumService.createAlbum(album);
+
+            MvcResult started = replicaMockMvc.perform(get("/api/sync")).andReturn();
+            replicaMockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.albums[*].id", contains(album.getId())));
+        }
+    }
+
+    private Album album(Artist artist, String name) {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName(name);
+        return albumService.createAlbum(album);
+    }
+}
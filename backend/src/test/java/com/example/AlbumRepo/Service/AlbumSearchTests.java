@@ -0,0 +1,130 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.DTO.AlbumPage;
+import com.example.AlbumRepo.DTO.AlbumSearchCriteria;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AlbumSearchTests {
+    @Autowired
+    AlbumService albumService;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+
+    @BeforeEach
+    void seed() {
+        Artist beatles = artist("The Beatles", 'B');
+        Artist bjork = artist("Björk", 'B');
+        Artist abba = artist("ABBA", 'A');
+
+        album(beatles, "Revolver", 1966, 7, 9.0, "Rock");
+        album(beatles, "Abbey Road", 1969, 11, 10.0, "Rock");
+        album(beatles, "Rubber Soul", 1965, 6, null, "Rock");
+        album(bjork, "Homogenic", 1997, 4, 9.5, "Electronic");
+        album(bjork, "Debut", 1993, 1, 8.0, "Pop");
+        album(abba, "Arrival", 1976, 4, 7.0, "Pop");
+        album(abba, "Unknown", null, null, null, null);
+    }
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void artistSortIgnoresArticlesAndAccents() {
+        assertThat(titles(pageThrough(criteria(null, null, null, null, "artist", "asc"))))
+                .containsExactly("Arrival", "Unknown", "Rubber Soul", "Revolver", "Abbey Road", "Debut", "Homogenic");
+    }
+
+    @Test
+    void descendingRatingPutsUnratedLast() {
+        assertThat(titles(pageThrough(criteria(null, null, null, null, "rating", "desc"))))
+                .containsExactly("Abbey Road", "Homogenic", "Revolver", "Debut", "Arrival", "Rubber Soul", "Unknown");
+    }
+
+    @Test
+    void filtersCombine() {
+        assertThat(titles(pageThrough(criteria("B", null, "196", null, "year", "asc"))))
+                .containsExactly("Rubber Soul", "Revolver", "Abbey Road");
+        assertThat(titles(pageThrough(criteria(null, "po", null, "8", "title", "asc"))))
+                .containsExactly("Debut");
+        assertThat(titles(pageThrough(criteria(null, null, null, "null", "title", "asc"))))
+                .containsExactly("Rubber Soul", "Unknown");
+    }
+
+    @Test
+    void genreMatchesAnywhereInTheName() {
+        assertThat(titles(pageThrough(criteria(null, "TRON", null, null, "title", "asc"))))
+                .containsExactly("Homogenic");
+        assertThat(titles(pageThrough(criteria(null, "o", null, null, "title", "asc"))))
+                .containsExactly("Abbey Road", "Arrival", "Debut", "Homogenic", "Revolver", "Rubber Soul");
+    }
+
+    @Test
+    void firstPageCarriesTheTotals() {
+        AlbumPage first = albumService.searchAlbums(new AlbumSearchCriteria("B", null, null, null, null, "artist", "asc", null, 2));
+        assertThat(first.totals()).isEqualTo(new AlbumPage.Totals(5, 4, 2, 9.125));
+
+        AlbumPage second = albumService.searchAlbums(new AlbumSearchCriteria("B", null, null, null, null, "artist", "asc", first.nextCursor(), 2));
+        assertThat(second.totals()).isNull();
+    }
+
+    // Walk every page two rows at a time so each test also exercises the cursor
+    private List<Album> pageThrough(AlbumSearchCriteria first) {
+        List<Album> all = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            AlbumPage page = albumService.searchAlbums(new AlbumSearchCriteria(
+                    first.letter(), first.artistId(), first.genre(), first.year(), first.rating(),
+                    first.sortBy(), first.order(), cursor, 2));
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        return all;
+    }
+
+    private AlbumSearchCriteria criteria(String letter, String genre, String year, String rating, String sortBy, String order) {
+        return new AlbumSearchCriteria(letter, null, genre, year, rating, sortBy, order, null, null);
+    }
+
+    private List<String> titles(List<Album> albums) {
+        return albums.stream().map(Album::getAlbumName).toList();
+    }
+
+    private Artist artist(String name, char letter) {
+        Artist artist = new Artist();
+        artist.setArtistName(name);
+        artist.setLetter(letter);
+        return artistRepository.save(artist);
+    }
+
+    private void album(Artist artist, String name, Integer year, Integer order, Double rating, String genre) {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName(name);
+        album.setReleaseYear(year);
+        album.setReleaseOrder(order);
+        album.setRating(rating);
+        album.setGenre(genre);
+        albumRepository.save(album);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import com.example.AlbumRepo.Entity.Job;
+import com.example.AlbumRepo.Repository.IAlbumRepository;
+import com.example.AlbumRepo.Repository.IArtistRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CoverArtBackfillTests {
+    static HttpServer stub;
+    static final AtomicInteger searches = new AtomicInteger();
+
+    @Autowired
+    CoverArtService coverArtService;
+    @Autowired
+    JobService jobService;
+    @Autowired
+    IArtistRepository artistRepository;
+    @Autowired
+    IAlbumRepository albumRepository;
+
+    // Local stand-ins for the Spotify token/search endpoints and MusicBrainz
+    @DynamicPropertySource
+    static void providers(DynamicPropertyRegistry registry) throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/token", exchange ->
+                respond(exchange, "{\"access_token\":\"stub-token\",\"expires_in\":3600}"));
+        stub.createContext("/v1/search", exchange -> respond(exchange,
+                exchange.getRequestURI().getRawQuery().contains("Revolver")
+                        ? "{\"albums\":{\"items\":[{\"name\":\"Revolver\",\"artists\":[{\"name\":\"The Beatles\"}],\"images\":[{\"url\":\"https://img.example/revolver.jpg\"}]}]}}"
+                        : "{\"albums\":{\"items\":[]}}"));
+        stub.createContext("/ws/2/release", exchange -> respond(exchange,
+                exchange.getRequestURI().getRawQuery().contains("Debut")
+                        ? "{\"releases\":[{\"id\":\"mbid-debut\"}]}"
+                        : "{\"releases\":[]}"));
+        stub.start();
+
+        String base = "http://localhost:" + stub.getAddress().getPort();
+        registry.add("coverart.spotify.token-url", () -> base + "/token");
+        registry.add("coverart.spotify.api-url", () -> base + "/v1");
+        registry.add("coverart.musicbrainz.api-url", () -> base + "/ws/2");
+        registry.add("coverart.spotify.requests-per-second", () -> 100);
+        registry.add("coverart.musicbrainz.requests-per-second", () -> 100);
+        registry.add("coverart.backfill.batch-size", () -> 2);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @AfterEach
+    void clear() {
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    void backfillResolvesThroughBothProvidersAndKeepsRealCovers() {
+        Album revolver = album(artist("The Beatles"), "Revolver", null);
+        Album debut = album(artist("Björk"), "Debut", "/default-cover.png");
+        Album unknown = album(artist("Nobody"), "Unknown", "");
+        Album kept = album(artist("Portishead"), "Dummy", "https://img.example/dummy.jpg");
+
+        CoverArtService.BackfillResult result = coverArtService.fetchCoversForAllAlbums();
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.updated()).isEqualTo(2);
+        assertThat(cover(revolver)).isEqualTo("https://img.example/revolver.jpg");
+        assertThat(cover(debut)).isEqualTo("https://coverartarchive.org/release/mbid-debut/front");
+        assertThat(cover(unknown)).isEmpty();
+        assertThat(cover(kept)).isEqualTo("https://img.example/dummy.jpg");
+    }
+
+    @Test
+    void backfillJobRecordsProgress() throws InterruptedException {
+        album(artist("The Beatles"), "Revolver", null);
+        album(artist("Nobody"), "Unknown", null);
+
+        Integer id = jobService.submitCoverBackfill().getId();
+
+        Job job = jobService.getJob(id).orElseThrow();
+        for (int i = 0; i < 100 && job.getStatus() != Job.Status.COMPLETED; i++) {
+            Thread.sleep(50);
+            job = jobService.getJob(id).orElseThrow();
+        }
+
+        assertThat(job.getStatus()).isEqualTo(Job.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(2);
+        assertThat(job.getSucceeded()).isEqualTo(1);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(job.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void rememberedLookupsSkipTheProviders() {
+        assertThat(coverArtService.fetchCoverArt("Nobody Else", "Nothing Here")).isNull();
+        int before = searches.get();
+
+        assertThat(coverArtService.fetchCoverArt("Nobody Else", "Nothing Here")).isNull();
+        assertThat(searches.get()).isEqualTo(before);
+    }
+
+    private String cover(Album album) {
+        return albumRepository.findById(album.getId()).orElseThrow().getCoverURL();
+    }
+
+    private Artist artist(String name) {
+        Artist artist = new Artist();
+        artist.setArtistName(name);
+        artist.setLetter(name.charAt(0));
+        return artistRepository.save(artist);
+    }
+
+    private Album album(Artist artist, String name, String coverUrl) {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName(name);
+        album.setCoverURL(coverUrl);
+        return albumRepository.save(album);
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals("/token")) searches.incrementAndGet();
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
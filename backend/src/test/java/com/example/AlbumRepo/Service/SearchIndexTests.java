@@ -0,0 +1,93 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.DTO.SearchHit;
+import com.example.AlbumRepo.DTO.SearchHit.Type;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SearchIndexTests {
+    @Autowired
+    SearchIndex searchIndex;
+    @Autowired
+    ArtistService artistService;
+    @Autowired
+    AlbumService albumService;
+
+    Artist sigurRos;
+    Artist boards;
+    Album geogaddi;
+
+    @BeforeEach
+    void seed() {
+        sigurRos = artist("Sigur Rós");
+        boards = artist("Boards of Canada");
+        album(sigurRos, "Ágætis byrjun", 1999, "Post-Rock");
+        geogaddi = album(boards, "Geogaddi", 2002, "Electronica");
+        album(boards, "Music Has the Right to Children", 1998, "Electronica");
+    }
+
+    @AfterEach
+    void clear() {
+        artistService.deleteArtist(sigurRos.getId());
+        artistService.deleteArtist(boards.getId());
+    }
+
+    @Test
+    void matchesPrefixesTyposAndAccents() {
+        assertThat(names(searchIndex.search("geog", null))).first().isEqualTo("Geogaddi");
+        assertThat(names(searchIndex.search("goegaddi", null))).first().isEqualTo("Geogaddi");
+        assertThat(names(searchIndex.search("agaetis", null))).containsExactly("Ágætis byrjun");
+        assertThat(names(searchIndex.search("sigur ros", null))).first().isEqualTo("Sigur Rós");
+    }
+
+    @Test
+    void everyWordMustMatchAndContextRanksBelowNames() {
+        assertThat(names(searchIndex.search("boards children", null))).containsExactly("Music Has the Right to Children");
+
+        List<SearchHit> hits = searchIndex.search("electronica", null);
+        assertThat(hits.get(0).type()).isEqualTo(Type.GENRE);
+        assertThat(hits).hasSize(3);
+    }
+
+    @Test
+    void writesAreReflectedAfterCommit() {
+        geogaddi.setAlbumName("Tomorrow's Harvest");
+        albumService.updateAlbum(geogaddi.getId(), geogaddi);
+
+        assertThat(searchIndex.search("geogaddi", null)).isEmpty();
+        assertThat(names(searchIndex.search("harvest", null))).containsExactly("Tomorrow's Harvest");
+
+        albumService.deleteAlbum(geogaddi.getId());
+        assertThat(searchIndex.search("harvest", null)).isEmpty();
+    }
+
+    private List<String> names(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::name).toList();
+    }
+
+    private Artist artist(String name) {
+        Artist artist = new Artist();
+        artist.setArtistName(name);
+        artist.setLetter(Artist.toLetter(name));
+        return artistService.createArtist(artist);
+    }
+
+    private Album album(Artist artist, String name, Integer year, String genre) {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName(name);
+        album.setReleaseYear(year);
+        album.setGenre(genre);
+        return albumService.createAlbum(album);
+    }
+}
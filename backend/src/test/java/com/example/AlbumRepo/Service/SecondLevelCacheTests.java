@@ -0,0 +1,84 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+    @Autowired
+    ArtistService artistService;
+    @Autowired
+    AlbumService albumService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Artist artist;
+    Album album;
+
+    @BeforeEach
+    void seed() {
+        artist = new Artist();
+        artist.setArtistName("Talk Talk");
+        artist.setLetter(Artist.toLetter("Talk Talk"));
+        artist = artistService.createArtist(artist);
+        album = album("Spirit of Eden");
+        album("Laughing Stock");
+    }
+
+    @AfterEach
+    void clear() {
+        artistService.deleteArtist(artist.getId());
+    }
+
+    @Test
+    void artistDetailIsOneStatementThenServedFromTheCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        assertThat(loadAlbumNames()).containsExactlyInAnyOrder("Spirit of Eden", "Laughing Stock");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(loadAlbumNames()).containsExactlyInAnyOrder("Spirit of Eden", "Laughing Stock");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void albumDetailIsServedFromTheCacheWithItsArtist() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+
+        albumService.getAlbumById(album.getId());
+        statistics.clear();
+        Album cached = albumService.getAlbumById(album.getId());
+        assertThat(cached.getAlbumName()).isEqualTo("Spirit of Eden");
+        assertThat(cached.getArtist().getArtistName()).isEqualTo("Talk Talk");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    private List<String> loadAlbumNames() {
+        return artistService.getArtistById(artist.getId()).getAlbums().stream().map(Album::getAlbumName).toList();
+    }
+
+    private Album album(String name) {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName(name);
+        return albumService.createAlbum(album);
+    }
+}
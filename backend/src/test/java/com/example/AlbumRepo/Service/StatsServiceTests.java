@@ -0,0 +1,84 @@
+package com.example.AlbumRepo.Service;
+
+import com.example.AlbumRepo.DTO.CatalogStats;
+import com.example.AlbumRepo.DTO.CatalogStats.ArtistStats;
+import com.example.AlbumRepo.Entity.Album;
+import com.example.AlbumRepo.Entity.Artist;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class StatsServiceTests {
+    @Autowired
+    StatsService statsService;
+    @Autowired
+    ArtistService artistService;
+    @Autowired
+    AlbumService albumService;
+
+    @Test
+    void writesAdjustTheTotals() {
+        CatalogStats before = statsService.getStats();
+
+        Artist artist = new Artist();
+        artist.setArtistName("Radiohead");
+        artist.setLetter('R');
+        artistService.createArtist(artist);
+
+        Album okComputer = album(artist, "OK Computer", 1997, "Zydeco", 9.6);
+        album(artist, "Kid A", 2000, "Zydeco", 8.0);
+        album(artist, "Pablo Honey", 1993, null, null);
+
+        CatalogStats stats = statsService.getStats();
+        assertThat(stats.albums() - before.albums()).isEqualTo(3);
+        assertThat(stats.ratedAlbums() - before.ratedAlbums()).isEqualTo(2);
+        assertThat(stats.albumsByGenre()).containsEntry("Zydeco", 2L);
+        assertThat(delta(before.albumsByLetter(), stats.albumsByLetter(), "R")).isEqualTo(3);
+        assertThat(artistStats(stats, artist)).satisfies(a -> {
+            assertThat(a.albums()).isEqualTo(3);
+            assertThat(a.averageRating()).isCloseTo(8.8, within(1e-9));
+        });
+
+        okComputer.setGenre(null);
+        okComputer.setRating(null);
+        albumService.updateAlbum(okComputer.getId(), okComputer);
+
+        stats = statsService.getStats();
+        assertThat(stats.albumsByGenre()).containsEntry("Zydeco", 1L);
+        assertThat(artistStats(stats, artist).averageRating()).isCloseTo(8.0, within(1e-9));
+
+        artist.setLetter('X');
+        artistService.updateArtist(artist.getId(), artist);
+        assertThat(delta(before.albumsByLetter(), statsService.getStats().albumsByLetter(), "X")).isEqualTo(3);
+
+        artistService.deleteArtist(artist.getId());
+        stats = statsService.getStats();
+        assertThat(stats.albums()).isEqualTo(before.albums());
+        assertThat(stats.albumsByGenre()).doesNotContainKey("Zydeco");
+        assertThat(stats.ratedAlbums()).isEqualTo(before.ratedAlbums());
+    }
+
+    private static long delta(Map<String, Long> before, Map<String, Long> after, String key) {
+        return after.getOrDefault(key, 0L) - before.getOrDefault(key, 0L);
+    }
+
+    private static ArtistStats artistStats(CatalogStats stats, Artist artist) {
+        return stats.perArtist().stream().filter(a -> a.id().equals(artist.getId())).findFirst().orElseThrow();
+    }
+
+    private Album album(Artist artist, String name, Integer year, String genre, Double rating) {
+        Album album = new Album();
+        album.setArtist(artist);
+        album.setAlbumName(name);
+        album.setReleaseYear(year);
+        album.setGenre(genre);
+        album.setRating(rating);
+        return albumService.createAlbum(album);
+    }
+}
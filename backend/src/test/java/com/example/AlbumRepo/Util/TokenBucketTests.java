@@ -0,0 +1,50 @@
+package com.example.AlbumRepo.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    @Test
+    void burstIsImmediateThenPacedAtTheRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(20, 2);
+
+        long started = System.nanoTime();
+        bucket.acquire();
+        bucket.acquire();
+        assertThat(elapsedMillis(started)).isLessThan(40);
+
+        // Four more at 20/s take about 200 ms
+        for (int i = 0; i < 4; i++) {
+            bucket.acquire();
+        }
+        assertThat(elapsedMillis(started)).isBetween(180L, 600L);
+    }
+
+    @Test
+    void concurrentCallersShareTheRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1);
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 11; i++) {
+                executor.submit(() -> {
+                    bucket.acquire();
+                    return null;
+                });
+            }
+        }
+
+        // The first token is free, the other ten are 20 ms apart
+        assertThat(elapsedMillis(started)).isGreaterThanOrEqualTo(190L);
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Measures cold start of the backend in three modes: a plain `java -jar`, with
+# Spring AOT, and with AOT plus a CDS archive (what the Dockerfile ships). For
+# each run it records the time until /actuator/health answers and the latency
+# of the first real request, then prints the median of RUNS runs per mode.
+# Uses the database from DATASOURCE_URL / DATASOURCE_USER / DATASOURCE_PASSWORD
+# (or backend/.env).
+#
+#   ./startup.sh                      # 5 runs per mode, first request GET /api/albums
+#   RUNS=10 FIRST_PATH=/api/stats ./startup.sh
+set -euo pipefail
+cd "$(dirname "$0")"
+
+[ -f .env ] && set -a && . ./.env && set +a
+
+PORT=${PORT:-7398}
+RUNS=${RUNS:-5}
+FIRST_PATH=${FIRST_PATH:-/api/albums}
+OUT=target/startup
+
+sh ./mvnw -q -Pfaststart -DskipTests package
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+
+# Same layout as the container: extracted jar, plus a CDS archive from a training run
+rm -rf "$OUT" && mkdir -p "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT/application" > /dev/null
+APP="$OUT/application/$(basename "$JAR")"
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh -Dspring.profiles.active=training -jar "$APP" > "$OUT/training.log" 2>&1
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+printf '%-8s %12s %18s %22s\n' mode "ready (ms)" "first request (ms)" "spring started in (s)"
+for mode in jar aot cds; do
+  case $mode in
+    jar) flags=() ;;
+    aot) flags=(-Dspring.aot.enabled=true) ;;
+    cds) flags=(-Dspring.aot.enabled=true -XX:SharedArchiveFile="$OUT/app.jsa") ;;
+  esac
+
+  : > "$OUT/$mode.ready" ; : > "$OUT/$mode.first" ; : > "$OUT/$mode.started"
+  for run in $(seq "$RUNS"); do
+    log="$OUT/$mode-$run.log"
+    started=$(now_ms)
+    PORT=$PORT java "${flags[@]}" -jar "$APP" > "$log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+      kill -0 $pid 2>/dev/null || { echo "backend failed to start, see $log" >&2; exit 1; }
+      sleep 0.05
+    done
+    echo $(( $(now_ms) - started )) >> "$OUT/$mode.ready"
+
+    curl -sf -o /dev/null -w '%{time_total}\n' "http://localhost:$PORT$FIRST_PATH" \
+      | awk '{ printf "%d\n", $1 * 1000 }' >> "$OUT/$mode.first"
+    { grep -o 'Started AlbumRepoApplication in [0-9.]*' "$log" || true; } | awk '{ print $4 }' >> "$OUT/$mode.started"
+
+    kill $pid && wait $pid 2>/dev/null || true
+  done
+
+  printf '%-8s %12s %18s %22s\n' "$mode" "$(median < "$OUT/$mode.ready")" \
+    "$(median < "$OUT/$mode.first")" "$(median < "$OUT/$mode.started")"
+done
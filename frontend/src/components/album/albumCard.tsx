@@ -9,6 +9,7 @@ import {
 } from "@mui/material";
 import MarqueeOnOverflow from "../marqueeOverflow";
 import { LazyLoadImage } from "react-lazy-load-image-component";
+import { getCoverSrc } from "../../utils/coverUrl";
 
 interface AlbumCardProps {
   id: number;
@@ -43,7 +44,7 @@ const AlbumCard: React.FC<AlbumCardProps> = ({
   const navigate = useNavigate();
   const location = useLocation();
   const searchToCarry = fromSearch || location.search;
-  const coverImageUrl = coverURL?.trim() || "/default-cover.png";
+  const coverImageUrl = getCoverSrc(id, coverURL, imageSize);
 
   return (
     <Card
@@ -4,6 +4,7 @@ import { Album } from "../../models/models";
 import { normalizeArtistName } from "../../utils/artistName";
 
 export interface ArtistOption {
+  id?: number;
   name: string;
   letter: string;
   albums?: Album[];
@@ -7,6 +7,7 @@ export interface Album {
   rating?: number | null;
   coverURL?: string | null;
   artist: Artist;
+  version?: number;
 }
 
 export interface Artist {
@@ -14,4 +15,31 @@ export interface Artist {
   letter: string;
   artistName: string;
   albums?: Album[];
-}
\ No newline at end of file
+}
+
+// Query of GET /api/albums/search; the filters mirror the album list's
+export interface AlbumSearchParams {
+  letter?: string;
+  artistId?: number;
+  genre?: string;
+  year?: string;
+  rating?: string;
+  sortBy?: string;
+  order?: string;
+  cursor?: string;
+  size?: number;
+}
+
+export interface AlbumTotals {
+  albums: number;
+  rated: number;
+  artists: number;
+  avgRating: number | null;
+}
+
+// totals covers every match and only comes with the first page
+export interface AlbumPage {
+  items: Album[];
+  nextCursor: string | null;
+  totals: AlbumTotals | null;
+}
@@ -6,8 +6,10 @@ import AlbumCard from "../components/album/albumCard";
 import AlbumFilters, { ArtistOption } from "../components/album/albumFilters";
 import { getNormalizedLetter, normalizeArtistName } from "../utils/artistName";
 import AlbumSummaryBar from "../components/album/albumSummaryBar";
-import { Album } from "../models/models";
+import { Album, AlbumPage, AlbumSearchParams, AlbumTotals, Artist } from "../models/models";
 import AlbumService from "../services/albumService";
+import ArtistService from "../services/artistService";
+import { CatalogChange, followChanges } from "../services/changeService";
 
 const MIN_CARD_WIDTH = 145;
 const MAX_CARD_WIDTH = 172;
@@ -15,6 +17,8 @@ const IDEAL_CARD_WIDTH = 156;
 const GAP = 10;
 const SCROLLBAR_GUTTER = 24;
 const OVERSCAN_ROW_COUNT = 1;
+// Rows short of the end at which the next page is requested
+const LOAD_AHEAD_ROWS = 3;
 
 const getAlbumGridMetrics = (viewportWidth: number) => {
   const listWidth = Math.max(
@@ -59,15 +63,6 @@ const toSlug = (value: string) =>
     .replace(/\s+/g, "-") 
     .replace(/^-+|-+$/g, "");
 
-const collator = new Intl.Collator(undefined, {
-  usage: "sort",
-  sensitivity: "base",
-  numeric: true
-});
-
-const getArtistLetter = (album: Album): string =>
-  getNormalizedLetter(album.artist?.artistName);
-
 const AlbumList: React.FC = () => {
   const location = useLocation();
   const [searchParams, setSearchParams] = useSearchParams();
@@ -84,9 +79,11 @@ const AlbumList: React.FC = () => {
   const [sortBy, setSortBy] = useState<string>(searchParams.get("sortby") ?? "artist");
   const [sortOrder, setSortOrder] = useState<string>(searchParams.get("order") ?? "asc");
   const [albums, setAlbums] = useState<Album[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [totals, setTotals] = useState<AlbumTotals | null>(null);
+  const [artists, setArtists] = useState<Artist[] | null>(null);
   const [loading, setLoading] = useState(true);
   const [containerWidth, setContainerWidth] = useState(window.innerWidth);
-  const [artistOptions, setArtistOptions] = useState<ArtistOption[]>([]);
   const isHydratingRef = useRef(false);
 
   // handle window resize
@@ -128,171 +125,193 @@ const AlbumList: React.FC = () => {
     setSearchParams,
   ]);
 
-  // initial data fetch
-  useEffect(() => {
-    AlbumService.getAll()
-      .then((data) => {
-        setAlbums(data);
+  const artistOptions = useMemo(() => {
+    const byKey = new Map<string, ArtistOption>();
 
-        const byKey = new Map<string, ArtistOption>();
+    (artists ?? []).forEach((a) => {
+      const name = a.artistName?.trim();
+      if (!name) return;
 
-        data.forEach((a) => {
-          const name = a.artist?.artistName?.trim();
-          if (!name) return;
+      const letter = getNormalizedLetter(name);
+      const key = name.toLowerCase();
 
-          const letter = getNormalizedLetter(name);
-          const key = name.toLowerCase();
+      if (!byKey.has(key)) byKey.set(key, { id: a.id, name, letter });
+    });
 
-          if (!byKey.has(key)) byKey.set(key, { name, letter });
-        });
+    return Array.from(byKey.values()).sort((x, y) => {
+      const l = x.letter.localeCompare(y.letter);
+      if (l !== 0) return l;
+      const nx = normalizeArtistName(x.name);
+      const ny = normalizeArtistName(y.name);
+      return nx.localeCompare(ny);
+    });
+  }, [artists]);
 
-        const artists = Array.from(byKey.values()).sort((x, y) => {
-          const l = x.letter.localeCompare(y.letter);
-          if (l !== 0) return l;
-          const nx = normalizeArtistName(x.name);
-          const ny = normalizeArtistName(y.name);
-          return nx.localeCompare(ny);
-        });
+  // The filters as search params; null while the artist in the URL waits for the artist list
+  const query = useMemo<AlbumSearchParams | null>(() => {
+    let artistId: number | undefined;
+    if (selectedArtist) {
+      if (artists === null) return null;
+      // An unknown slug matches nothing, as it did when the list filtered by name
+      artistId = artistOptions.find((o) => toSlug(o.name) === selectedArtist)?.id ?? -1;
+    }
 
-        setArtistOptions(artists);
-        setLoading(false);
+    return {
+      letter: selectedLetter || undefined,
+      artistId,
+      genre: genreQuery?.trim() || undefined,
+      year: yearQuery?.trim() || undefined,
+      rating: minRating === "" ? undefined : String(minRating),
+      sortBy,
+      order: sortOrder,
+    };
+  }, [
+    artists,
+    artistOptions,
+    selectedLetter,
+    selectedArtist,
+    genreQuery,
+    yearQuery,
+    minRating,
+    sortBy,
+    sortOrder,
+  ]);
+  const queryKey = JSON.stringify(query);
+
+  const queryRef = useRef(query);
+  queryRef.current = query;
+  const nextCursorRef = useRef(nextCursor);
+  nextCursorRef.current = nextCursor;
+  // Bumped by every first-page load, so pages of an older query are dropped
+  const generationRef = useRef(0);
+  // Changes that arrive while a page is loading wait for it, so the page can't overwrite them
+  const inFlightRef = useRef(0);
+  const pendingChangesRef = useRef<CatalogChange[]>([]);
+  const loadingMoreRef = useRef(false);
+  const applyChangeRef = useRef<(change: CatalogChange) => void>(() => {});
+  const startedRef = useRef(false);
+
+  const fetchPage = (params: AlbumSearchParams, apply: (page: AlbumPage) => void) => {
+    const generation = generationRef.current;
+    inFlightRef.current++;
+    return AlbumService.search(params)
+      .then((page) => {
+        if (generation === generationRef.current) apply(page);
       })
-      .catch((err) => {
-        console.error("Error fetching albums:", err);
-        setLoading(false);
+      .finally(() => {
+        if (--inFlightRef.current > 0) return;
+        const pending = pendingChangesRef.current;
+        pendingChangesRef.current = [];
+        pending.forEach((change) => applyChangeRef.current(change));
       });
-  }, []);
+  };
 
-  const filteredAlbums = useMemo(() => {
-    let filtered = [...albums];
+  const loadFirstPage = () => {
+    const params = queryRef.current;
+    if (params === null) return Promise.resolve();
+
+    // A next page of the previous filters must not be asked for with the new ones
+    generationRef.current++;
+    nextCursorRef.current = null;
+    setNextCursor(null);
+    return fetchPage(params, (page) => {
+      setAlbums(page.items);
+      setNextCursor(page.nextCursor);
+      setTotals(page.totals);
+    })
+      .catch((err) => console.error("Error fetching albums:", err))
+      .finally(() => setLoading(false));
+  };
 
-    // letter filter
-    if (selectedLetter) {
-      const target = selectedLetter.toUpperCase();
-      filtered = filtered.filter((a) => getArtistLetter(a) === target);
-    }
+  const loadNextPage = () => {
+    const params = queryRef.current;
+    const cursor = nextCursorRef.current;
+    if (params === null || cursor === null || loadingMoreRef.current) return;
 
-    // artist filter
-    if (selectedArtist) {
-      filtered = filtered.filter(
-        (a) =>
-          toSlug(a.artist?.artistName ?? "") === selectedArtist
-      );
-    }
-
-    // min rating
-    if (minRating === "null") {
-      filtered = filtered.filter((a) => a.rating == null);
-    } else if (minRating !== "") {
-      const ratingStr = String(minRating);
-      const regex = new RegExp(`^${ratingStr}(\\.|$)`);
-      filtered = filtered.filter((a) => {
-        if (a.rating == null) return false;
-        return regex.test(String(a.rating));
+    loadingMoreRef.current = true;
+    fetchPage({ ...params, cursor }, (page) => {
+      setAlbums((current) => {
+        const loaded = new Set(current.map((a) => a.id));
+        return [...current, ...page.items.filter((a) => !loaded.has(a.id))];
       });
-    }
+      setNextCursor(page.nextCursor);
+    })
+      .catch((err) => console.error("Error fetching albums:", err))
+      .finally(() => {
+        loadingMoreRef.current = false;
+      });
+  };
 
-    // genre filter
-    if (genreQuery && genreQuery.trim()) {
-      const gq = genreQuery.toLowerCase();
-      filtered = filtered.filter((a) =>
-        a.genre?.toLowerCase().includes(gq)
-      );
-    }
+  // first page of the current filters, once the change feed has done the initial load
+  useEffect(() => {
+    if (startedRef.current) loadFirstPage();
+  }, [queryKey]);
 
-    // year filter
-    if (yearQuery && yearQuery.trim()) {
-      filtered = filtered.filter((a) =>
-        String(a.releaseYear ?? "").startsWith(yearQuery)
-      );
-    }
+  // initial data fetch, then deltas from the change feed instead of reloading.
+  // Loaded albums are patched in place; a new album shows up with the next load
+  useEffect(() => {
+    const loadArtists = () =>
+      ArtistService.getAll()
+        .then(setArtists)
+        .catch((err) => console.error("Error fetching artists:", err));
+
+    const load = () => {
+      startedRef.current = true;
+      return Promise.all([loadArtists(), loadFirstPage()]);
+    };
 
-    // sorting
-    type SortKey = string | number;
-
-    const artistFallback = (a: Album): SortKey[] => [
-      normalizeArtistName(a.artist?.artistName),
-      a.releaseYear ?? 9999,
-      a.releaseOrder ?? 9999,
-      (a.albumName || "").toLowerCase(),
-    ];
-
-    const sortExtractors: Record<string, (a: Album) => SortKey[]> = {
-      artist: (a) => [
-        ...artistFallback(a),
-      ],
-
-      title: (a) => [
-        (a.albumName || "").toLowerCase(),
-        ...artistFallback(a),
-      ],
-
-      year: (a) => [
-        a.releaseYear ?? 9999,
-        a.releaseOrder ?? 9999,
-        ...artistFallback(a),
-      ],
-
-      genre: (a) => [
-        (a.genre || "").toLowerCase(),
-        ...artistFallback(a),
-      ],
-
-      rating: (a) => [
-        a.rating ?? -1,
-        ...artistFallback(a),
-      ],
+    // A one-row search brings the totals of the whole result
+    const refreshTotals = () => {
+      const params = queryRef.current;
+      if (params === null) return;
+      fetchPage({ ...params, size: 1 }, (page) => setTotals(page.totals))
+        .catch((err) => console.error("Error refreshing totals:", err));
     };
 
-    const compareTuples = (
-      a: SortKey[],
-      b: SortKey[],
-      dir: 1 | -1
-    ) => {
-      const len = Math.max(a.length, b.length);
-
-      for (let i = 0; i < len; i++) {
-        const av = a[i];
-        const bv = b[i];
-
-        if (av == null && bv == null) continue;
-        if (av == null) return 1 * dir;
-        if (bv == null) return -1 * dir;
-
-        if (typeof av === "string" && typeof bv === "string") {
-          const cmp = collator.compare(av, bv);
-          if (cmp !== 0) return cmp * dir;
-          continue;
-        }
+    const refreshAlbum = (id: number) =>
+      AlbumService.getById(id)
+        .catch(() => null)
+        .then((album) =>
+          setAlbums((current) =>
+            album ? current.map((a) => (a.id === id ? album : a)) : current.filter((a) => a.id !== id)
+          )
+        );
 
-        if (av < bv) return -1 * dir;
-        if (av > bv) return 1 * dir;
+    const refreshArtist = (id: number) =>
+      ArtistService.getById(id)
+        .then(({ letter, artistName }) =>
+          setAlbums((current) =>
+            current.map((a) => (a.artist?.id === id ? { ...a, artist: { id, letter, artistName } } : a))
+          )
+        )
+        .catch((err) => console.error("Error refreshing artist:", err));
+
+    applyChangeRef.current = (change) => {
+      if (change.kind === "ALBUM") {
+        if (change.action === "DELETED") {
+          setAlbums((current) => current.filter((a) => a.id !== change.id));
+        } else if (change.action === "UPDATED") {
+          refreshAlbum(change.id);
+        }
+      } else {
+        loadArtists();
+        if (change.action === "DELETED") {
+          setAlbums((current) => current.filter((a) => a.artist?.id !== change.id));
+        } else {
+          refreshArtist(change.id);
+        }
       }
-
-      return 0;
+      refreshTotals();
     };
 
-    const dir: 1 | -1 = sortOrder === "asc" ? 1 : -1;
-
-    filtered.sort((a, b) =>
-      compareTuples(
-        sortExtractors[sortBy](a),
-        sortExtractors[sortBy](b),
-        dir
-      )
-    );
-
-    return filtered;
-  }, [
-    albums,
-    selectedLetter,
-    selectedArtist,
-    genreQuery,
-    yearQuery,
-    minRating,
-    sortBy,
-    sortOrder,
-  ]);
+    return followChanges(load, (change) => {
+      if (inFlightRef.current > 0) {
+        pendingChangesRef.current.push(change);
+      } else {
+        applyChangeRef.current(change);
+      }
+    });
+  }, []);
 
   const {
     listWidth,
@@ -303,8 +322,7 @@ const AlbumList: React.FC = () => {
     itemsPerRow,
     rowHeight,
   } = getAlbumGridMetrics(containerWidth);
-  const rowCount = Math.ceil(filteredAlbums.length / itemsPerRow);
-  const ratedAlbums = filteredAlbums.filter((a) => a.rating !== null);
+  const rowCount = Math.ceil(albums.length / itemsPerRow);
   const listHeight = Math.max(380, window.innerHeight - 220);
 
   // render contents
@@ -312,7 +330,7 @@ const AlbumList: React.FC = () => {
     () =>
       ({ index, style }: { index: number; style: React.CSSProperties }) => {
         const startIndex = index * itemsPerRow;
-        const rowItems = filteredAlbums.slice(
+        const rowItems = albums.slice(
           startIndex,
           startIndex + itemsPerRow
         );
@@ -369,7 +387,7 @@ const AlbumList: React.FC = () => {
         );
       },
     [
-      filteredAlbums,
+      albums,
       itemsPerRow,
       location.search,
       contentWidth,
@@ -418,20 +436,13 @@ const AlbumList: React.FC = () => {
       />
 
       <AlbumSummaryBar
-        totalAlbums={filteredAlbums.length}
-        listenedAlbums={ratedAlbums.length}
-        uniqueArtists={
-          new Set(
-            filteredAlbums.map((a) => a.artist?.artistName)
-          ).size
-        }
-        avgRating={ratedAlbums.length > 0 
-          ? Number((ratedAlbums.reduce((sum, a) => sum + (a.rating ?? 0), 0) / ratedAlbums.length).toFixed(2)) 
-          : undefined
-        }
+        totalAlbums={totals?.albums ?? 0}
+        listenedAlbums={totals?.rated ?? 0}
+        uniqueArtists={totals?.artists ?? 0}
+        avgRating={totals?.avgRating != null ? Number(totals.avgRating.toFixed(2)) : undefined}
       />
 
-      {filteredAlbums.length === 0 ? (
+      {albums.length === 0 ? (
         <Typography align="center" mt={4}>
           No albums found for these filters.
         </Typography>
@@ -446,6 +457,9 @@ const AlbumList: React.FC = () => {
             itemSize={rowHeight}
             overscanCount={OVERSCAN_ROW_COUNT}
             width={listWidth}
+            onItemsRendered={({ visibleStopIndex }) => {
+              if (visibleStopIndex >= rowCount - LOAD_AHEAD_ROWS) loadNextPage();
+            }}
           >
             {Row}
           </List>
@@ -19,6 +19,7 @@ import { Artist } from "../models/models";
 import DeleteConfirmationDialog from "../components/deleteConfirmation";
 import MarqueeOnOverflow from "../components/marqueeOverflow";
 import ArtistService from "../services/artistService";
+import { getCoverSrc } from "../utils/coverUrl";
 
 const ArtistDetails: React.FC = () => {
   const { id } = useParams<{ id: string }>();
@@ -325,7 +326,7 @@ const ArtistDetails: React.FC = () => {
                           }}
                         >
                           <LazyLoadImage
-                            src={a.coverURL?.trim() || "/default-cover.png"}
+                            src={getCoverSrc(a.id, a.coverURL, 88)}
                             alt={a.albumName ?? "Album cover"}
                             effect="blur"
                             referrerPolicy="no-referrer"
@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useMemo, useState } from "react";
 import { Artist } from "../models/models";
 import { Box, CircularProgress, Typography } from "@mui/material";
 import ArtistCard from "../components/artist/artistCard";
@@ -7,6 +7,7 @@ import { ArtistOption } from "../components/album/albumFilters";
 import { getNormalizedLetter, normalizeArtistName } from "../utils/artistName";
 import ArtistSummaryBar from "../components/artist/artistSummaryBar";
 import ArtistService from "../services/artistService";
+import { followChanges, replaceById } from "../services/changeService";
 
 const ArtistList: React.FC = () => {
   const [artists, setArtists] = useState<Artist[]>([]);
@@ -15,47 +16,58 @@ const ArtistList: React.FC = () => {
   const [selectedArtist, setSelectedArtist] = useState<string | null>(null);
   const [sortBy, setSortBy] = useState<string>("letter");
   const [sortOrder, setSortOrder] = useState<"asc" | "desc">("asc");
-  const [artistOptions, setArtistOptions] = useState<ArtistOption[]>([]);
 
+  // initial data fetch, then deltas from the change feed instead of reloading
   useEffect(() => {
-    ArtistService.getAll()
-      .then((data) => {
-        setArtists(data);
-
-        const byKey = new Map<string, ArtistOption>();
-
-        data.forEach((a) => {
-          const name = a.artistName?.trim();
-          if (!name) return;
-
-          const letter = getNormalizedLetter(a.artistName);
-          const key = name.toLowerCase();
-
-          if (!byKey.has(key)) {
-            byKey.set(key, { name, letter });
-          }
-        });
-
-        const options = Array.from(byKey.values()).sort((x, y) => {
-          const lx = x.letter.toUpperCase();
-          const ly = y.letter.toUpperCase();
-          if (lx < ly) return -1;
-          if (lx > ly) return 1;
-
-          const nx = normalizeArtistName(x.name);
-          const ny = normalizeArtistName(y.name);
-          return nx.localeCompare(ny);
-        });
-
-        setArtistOptions(options);
-        setLoading(false);
-      })
-      .catch((err) => {
-        console.error("Error fetching artists:", err);
-        setLoading(false);
-      });
+    const load = () =>
+      ArtistService.getAll()
+        .then(setArtists)
+        .catch((err) => console.error("Error fetching artists:", err))
+        .finally(() => setLoading(false));
+
+    const refresh = (ids: number[]) =>
+      Promise.all(ids.map((id) => ArtistService.getById(id).catch(() => null)))
+        .then((fresh) => setArtists((current) => replaceById(current, ids, fresh)));
+
+    return followChanges(load, (change) => {
+      if (change.kind === "ALBUM") {
+        // An album change lists its artist (both, when it moved)
+        refresh(change.relatedIds);
+      } else if (change.action === "DELETED") {
+        setArtists((current) => current.filter((a) => a.id !== change.id));
+      } else {
+        refresh([change.id]);
+      }
+    });
   }, []);
 
+  const artistOptions = useMemo(() => {
+    const byKey = new Map<string, ArtistOption>();
+
+    artists.forEach((a) => {
+      const name = a.artistName?.trim();
+      if (!name) return;
+
+      const letter = getNormalizedLetter(a.artistName);
+      const key = name.toLowerCase();
+
+      if (!byKey.has(key)) {
+        byKey.set(key, { name, letter });
+      }
+    });
+
+    return Array.from(byKey.values()).sort((x, y) => {
+      const lx = x.letter.toUpperCase();
+      const ly = y.letter.toUpperCase();
+      if (lx < ly) return -1;
+      if (lx > ly) return 1;
+
+      const nx = normalizeArtistName(x.name);
+      const ny = normalizeArtistName(y.name);
+      return nx.localeCompare(ny);
+    });
+  }, [artists]);
+
   const enrichedArtists = React.useMemo(() => {
     return artists.map((a) => {
       const albums = a.albums ?? [];
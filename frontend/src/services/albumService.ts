@@ -1,10 +1,11 @@
 import api from "../api/apiClient";
-import { Album } from "../models/models";
+import { Album, AlbumPage, AlbumSearchParams } from "../models/models";
 
 type AlbumPayload = Omit<Album, "id">;
+type AlbumChanges = Partial<Omit<Album, "id" | "version">>;
 
 const toAlbumPayload = (album: Album | AlbumPayload): AlbumPayload => {
-  const { id, ...payload } = album as Album;
+  const { id, version, ...payload } = album as Album;
   return payload;
 };
 
@@ -14,6 +15,12 @@ class AlbumService {
     return data;
   }
 
+  // One page of the filtered, sorted list; pass the previous page's nextCursor for the next
+  static async search(params: AlbumSearchParams): Promise<AlbumPage> {
+    const { data } = await api.get<AlbumPage>("/albums/search", { params });
+    return data;
+  }
+
   static async getById(id: number | string): Promise<Album> {
     const { data } = await api.get<Album>(`/albums/${id}`);
     return data;
@@ -32,6 +39,13 @@ class AlbumService {
     return data;
   }
 
+  // Sends only the changed fields; a 412 means someone else saved the album first
+  static async patch(id: number, changes: AlbumChanges, version?: number): Promise<Album> {
+    const headers = version === undefined ? undefined : { "If-Match": `"${version}"` };
+    const { data } = await api.patch<Album>(`/albums/${id}`, changes, { headers });
+    return data;
+  }
+
   static async delete(id: number): Promise<void> {
     await api.delete(`/albums/delete-album/${id}`);
   }
@@ -0,0 +1,80 @@
+import api, { buildApiUrl } from "../api/apiClient";
+
+export interface CatalogChange {
+  seq: number;
+  kind: "ALBUM" | "ARTIST";
+  action: "CREATED" | "UPDATED" | "DELETED";
+  id: number;
+  relatedIds: number[];
+  at: string;
+}
+
+interface ChangeHandlers {
+  onChange: (change: CatalogChange) => void;
+  // The server can't replay what was missed; reload the catalog
+  onReset: () => void;
+}
+
+// Follows GET /api/changes. EventSource reconnects on its own and resumes via Last-Event-ID
+// (an "<epoch>-<seq>" cursor, so a restarted server answers with reset rather than wrong deltas).
+export const subscribeToChanges = (
+  { onChange, onReset }: ChangeHandlers,
+  since?: string
+): (() => void) => {
+  const url = buildApiUrl(since === undefined ? "/changes" : `/changes?since=${encodeURIComponent(since)}`);
+  const source = new EventSource(url);
+
+  source.addEventListener("change", (event) =>
+    onChange(JSON.parse((event as MessageEvent<string>).data) as CatalogChange)
+  );
+  source.addEventListener("reset", () => onReset());
+
+  return () => source.close();
+};
+
+// The feed's current cursor, from the polling form of GET /api/changes
+export const getLatestCursor = async (): Promise<string> => {
+  const { data } = await api.get<{ latest: string }>("/changes", {
+    headers: { Accept: "application/json" },
+  });
+  return data.latest;
+};
+
+// Loads the catalog and keeps it current. The cursor is taken before the load, so the
+// stream opens after the load has landed and replays whatever changed while it ran;
+// a reset starts over the same way.
+export const followChanges = (
+  load: () => Promise<unknown>,
+  onChange: (change: CatalogChange) => void
+): (() => void) => {
+  let closed = false;
+  let unsubscribe = () => {};
+
+  const start = async () => {
+    unsubscribe();
+    // Without a cursor the stream can only start from now
+    const since = await getLatestCursor().catch(() => undefined);
+    await load();
+    if (closed) return;
+    unsubscribe = subscribeToChanges({ onChange, onReset: start }, since);
+  };
+
+  start();
+  return () => {
+    closed = true;
+    unsubscribe();
+  };
+};
+
+// Swaps the given ids for their refetched versions; ids that came back null are dropped
+export const replaceById = <T extends { id: number }>(
+  items: T[],
+  ids: number[],
+  fresh: (T | null)[]
+): T[] => {
+  const replaced = new Set(ids);
+  return [
+    ...items.filter((item) => !replaced.has(item.id)),
+    ...fresh.filter((item): item is T => item !== null),
+  ];
+};
@@ -0,0 +1,36 @@
+import { buildApiUrl } from "../api/apiClient";
+
+const DEFAULT_COVER = "/default-cover.png";
+const COVER_SIZES = [150, 300, 600];
+
+// Short, stable token for a cover URL; a new cover gets a new token, so the
+// backend can mark each /covers URL as immutable. CoverImageService.version
+// computes the same token and only trusts a v= that matches it.
+const coverVersion = (coverURL: string): string => {
+  let hash = 0x811c9dc5;
+  for (let i = 0; i < coverURL.length; i++) {
+    hash ^= coverURL.charCodeAt(i);
+    hash = Math.imul(hash, 0x01000193);
+  }
+  return (hash >>> 0).toString(36);
+};
+
+// Smallest stored size that still covers the rendered box on this screen
+const pickSize = (displaySize: number): number => {
+  const needed = displaySize * (window.devicePixelRatio || 1);
+  return COVER_SIZES.find((size) => size >= needed) ?? COVER_SIZES[COVER_SIZES.length - 1];
+};
+
+export const getCoverSrc = (
+  albumId: number | undefined,
+  coverURL: string | null | undefined,
+  displaySize: number
+): string => {
+  const url = coverURL?.trim();
+  if (!url || url.includes("default-cover") || albumId == null) {
+    return url || DEFAULT_COVER;
+  }
+  return buildApiUrl(
+    `/covers/${albumId}?size=${pickSize(displaySize)}&v=${coverVersion(url)}`
+  );
+};